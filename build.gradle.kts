@@ -19,6 +19,51 @@ java {
   }
 }
 
+// JMH benchmarks live in src/jmh, and can use everything from main.
+val jmh by sourceSets.creating {
+  compileClasspath += sourceSets.main.get().output
+  runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+// Results are written as JSON to build/reports/jmh, to compare between commits.
+//   -Pjmh.include=<regex>   only run matching benchmarks
+//   -Pjmh.params=size=20,40 override a @Param's values (semicolon separated for several params)
+//   -Pjmh.profilers=gc      attach JMH profilers, e.g. gc for allocation rates (comma separated for several)
+//   -Pjmh.args="..."        any other JMH command line options
+tasks.register<JavaExec>("jmh") {
+  group = "verification"
+  description = "Runs the JMH benchmarks."
+  classpath = jmh.runtimeClasspath
+  mainClass = "org.openjdk.jmh.Main"
+
+  val results = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+  doFirst { results.parentFile.mkdirs() }
+
+  fun listProperty(name: String, separator: String = ",") =
+    (findProperty(name) as String?)?.split(separator)?.filter { it.isNotBlank() } ?: emptyList()
+
+  args = listOf("-rf", "json", "-rff", results.path) +
+      listProperty("jmh.params", ";").flatMap { listOf("-p", it) } +
+      listProperty("jmh.profilers").flatMap { listOf("-prof", it) } +
+      listProperty("jmh.args", " ") +
+      listProperty("jmh.include")
+}
+
+// Runs solutions in one JVM and writes a report to build/reports/solutions.json; pass e.g. -Psolutions.args="2016/11"
+// (see advent.meta.SolutionRunner for the options). Any -Padvent.metrics... properties are passed on to turn on
+// advent.utils.Metrics, e.g. -Padvent.metrics=true -Padvent.metrics.json=build/reports/metrics.jsonl
+tasks.register<JavaExec>("runSolutions") {
+  group = "application"
+  description = "Runs some or all of the puzzle solutions."
+  classpath = sourceSets.main.get().runtimeClasspath
+  mainClass = "advent.meta.SolutionRunnerKt"
+  args = (findProperty("solutions.args") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+  systemProperties(properties.filterKeys { it.startsWith("advent.metrics") })
+}
+
 dependencies {
   implementation("org.jetbrains.kotlin:kotlin-stdlib-jdk8")
 
@@ -39,6 +84,9 @@ dependencies {
   testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.0")
   testImplementation("org.assertj:assertj-core:3.23.1")
 
+  "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+  "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+
   api("org.apache.commons:commons-math3:3.6.1")
 
   // Google's OR Tools for solving optimization problems in linear programming.
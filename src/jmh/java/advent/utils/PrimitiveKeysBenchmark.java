@@ -0,0 +1,105 @@
+package advent.utils;
+
+import static advent.utils.CollectorUtils.toIntArray;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import advent.year2016.day22.StorageClusterGrid;
+import advent.year2016.day24.AirDuctMaze;
+
+/**
+ * Boxed pairs and collections against their primitive replacements, and the puzzles that switched over.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveKeysBenchmark {
+
+	@Param({ "1000", "100000" })
+	private int size;
+
+	private int[] firsts;
+	private int[] seconds;
+
+	private List<String> airDuctRows;
+	private List<String> storageClusterLines;
+
+	@Setup
+	public void setUp() throws IOException {
+		SplittableRandom random = new SplittableRandom(2016);
+		this.firsts = random.ints(this.size, 0, 1000).toArray();
+		this.seconds = random.ints(this.size, 0, 1000).toArray();
+
+		this.airDuctRows = Files.readAllLines(Paths.get("src/main/java/advent/year2016/day24/input.txt"));
+		this.storageClusterLines = Files.readAllLines(Paths.get("src/main/java/advent/year2016/day22/input.txt"));
+	}
+
+	@Benchmark
+	public int boxedPairMap() {
+		Map<Pair<Integer, Integer>, Integer> map = new HashMap<>();
+		int total = 0;
+		for (int i = 0; i < this.size; i++) {
+			total += map.computeIfAbsent(Pair.of(this.firsts[i], this.seconds[i]), pair -> pair.getFirst());
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int intPairMap() {
+		LongIntMap map = new LongIntMap();
+		int total = 0;
+		for (int i = 0; i < this.size; i++) {
+			total += map.computeIfAbsent(IntPair.of(this.firsts[i], this.seconds[i]), IntPair::first);
+		}
+		return total;
+	}
+
+	@Benchmark
+	public int[] boxedListToArray() {
+		List<Integer> list = IntStream.range(0, this.size).mapToObj(i -> this.firsts[i]).collect(toList());
+		return list.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	@Benchmark
+	public int[] collectToIntArray() {
+		return IntStream.range(0, this.size).mapToObj(i -> this.firsts[i]).collect(toIntArray(Integer::intValue));
+	}
+
+	@Benchmark
+	public int airDuctMaze() {
+		return new AirDuctMaze(this.airDuctRows).shortestLengthToVisitAll();
+	}
+
+	@Benchmark
+	public long storageClusterValidPairs() {
+		try (Stream<String> lines = this.storageClusterLines.stream()) {
+			return new StorageClusterGrid(lines).validPairCount();
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package advent.utils;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ShortestPathFinderBenchmark {
+
+	/**
+	 * The width and height of an open grid, searched from one corner to the other.
+	 */
+	@Param({ "20", "60" })
+	private int size;
+
+	@Benchmark
+	public Set<Path<Point>> openGrid() {
+		return new ShortestPathFinder().find(new Point(0, 0), //
+				new EndState<>(new Point(this.size - 1, this.size - 1)), //
+				new Steps<>(this::neighbours), //
+				new NoFilter<>(), //
+				new CollapseOnCurrentState<>(), //
+				null);
+	}
+
+	private Set<Point> neighbours(Point point) {
+		return Stream.of(new Point(point.getX() + 1, point.getY()), //
+				new Point(point.getX() - 1, point.getY()), //
+				new Point(point.getX(), point.getY() + 1), //
+				new Point(point.getX(), point.getY() - 1)) //
+				.filter(p -> p.getX() >= 0 && p.getX() < this.size && p.getY() >= 0 && p.getY() < this.size) //
+				.collect(Collectors.toSet());
+	}
+
+}
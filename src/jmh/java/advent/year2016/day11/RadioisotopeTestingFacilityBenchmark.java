@@ -0,0 +1,55 @@
+package advent.year2016.day11;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import advent.year2016.day11.RadioisotopeTestingFacility.Generator;
+import advent.year2016.day11.RadioisotopeTestingFacility.Microchip;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RadioisotopeTestingFacilityBenchmark {
+
+	/**
+	 * Extra generator and microchip pairs on the first floor, on top of the puzzle input. (Part two adds 2.)
+	 */
+	@Param({ "0", "1" })
+	private int extraPairs;
+
+	private RadioisotopeTestingFacility facility;
+
+	@Setup
+	public void setUp() throws IOException {
+		List<String> lines = Files.readAllLines(Paths.get("src/main/java/advent/year2016/day11/input.txt"));
+		this.facility = new RadioisotopeTestingFacility(lines.stream());
+		for (int i = 0; i < this.extraPairs; i++) {
+			this.facility = this.facility.withAdditionalItemsOnFirstFloor(new Generator("extra" + i),
+					new Microchip("extra" + i));
+		}
+	}
+
+	@Benchmark
+	public int minimumSteps() {
+		return this.facility.minimumNumberOfStepsToGetEverythingOntoTheTopFloor();
+	}
+
+}
@@ -0,0 +1,40 @@
+package advent.year2016.day14;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import advent.year2016.day14.OneTimePadKeyStream.Key;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OneTimePadKeyStreamBenchmark {
+
+	@Param({ "8", "64" })
+	private int keyCount;
+
+	@Benchmark
+	public List<Key> unstretched() {
+		return OneTimePadKeyStream.unstretched("abc").keys(this.keyCount);
+	}
+
+	@Benchmark
+	public String stretchedHash() {
+		return OneTimePadKeyStream.stretched("abc").possibleKey(this.keyCount);
+	}
+
+}
@@ -0,0 +1,38 @@
+package advent.year2016.day5;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MD5PasswordBenchmark {
+
+	@Param({ "10000", "1000000" })
+	private int hashCount;
+
+	/**
+	 * The inner loop of both passwords: hashing the door ID with successive indexes.
+	 */
+	@Benchmark
+	public void hashes(Blackhole blackhole) {
+		for (int i = 0; i < this.hashCount; i++) {
+			blackhole.consume(MD5Password.hexMD5Hash("abc" + i));
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package advent.year2019.day5;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IntcodeComputerBenchmark {
+
+	/**
+	 * Reads n into address 100, then decrements it until it reaches 0 and halts.
+	 */
+	private static final List<Long> COUNTDOWN = ImmutableList.of(3L, 100L, //
+			1001L, 100L, -1L, 100L, //
+			1005L, 100L, 2L, //
+			99L);
+
+	@Param({ "1000", "100000" })
+	private long iterations;
+
+	@Benchmark
+	public ProgramResult countdown() {
+		return new IntcodeComputer().execute(COUNTDOWN, () -> this.iterations);
+	}
+
+}
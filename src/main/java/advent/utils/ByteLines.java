@@ -0,0 +1,167 @@
+package advent.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+/**
+ * Aggregates over the lines of a (possibly very large) ASCII file without making a String per line.
+ *
+ * The file is cut into chunks at line boundaries, and the chunks are processed in parallel. Each line is handed over
+ * as a range of a byte array, with any trailing carriage return removed; empty lines are skipped.
+ */
+public class ByteLines {
+
+	private static final int CHUNK_SIZE = 1 << 24;
+
+	/**
+	 * Something to measure about one line - the bytes from start (inclusive) to end (exclusive).
+	 */
+	@FunctionalInterface
+	public static interface LineMeasure {
+		public long measure(byte[] bytes, int start, int end);
+	}
+
+	@FunctionalInterface
+	public static interface LinePredicate {
+		public boolean test(byte[] bytes, int start, int end);
+	}
+
+	/**
+	 * Accumulates each line into some mutable container.
+	 */
+	@FunctionalInterface
+	public static interface LineAccumulator<A> {
+		public void accept(A container, byte[] bytes, int start, int end);
+	}
+
+	public static long count(Path file, LinePredicate predicate) throws IOException {
+		return sum(file, (bytes, start, end) -> predicate.test(bytes, start, end) ? 1 : 0);
+	}
+
+	public static long sum(Path file, LineMeasure measure) throws IOException {
+		return collect(file, //
+				() -> new long[1], //
+				(total, bytes, start, end) -> total[0] += measure.measure(bytes, start, end), //
+				(left, right) -> {
+					left[0] += right[0];
+					return left;
+				})[0];
+	}
+
+	/**
+	 * Like {@link java.util.stream.Stream#collect(java.util.stream.Collector)}: each chunk of the file is accumulated
+	 * into its own container, and the containers are then combined.
+	 */
+	public static <A> A collect(Path file, Supplier<A> supplier, LineAccumulator<A> accumulator,
+			BinaryOperator<A> combiner) throws IOException {
+		return collect(file, CHUNK_SIZE, supplier, accumulator, combiner);
+	}
+
+	/**
+	 * With chunks of (at least) the given number of bytes, so that tests can cut small files into many chunks.
+	 */
+	@VisibleForTesting
+	static <A> A collect(Path file, int chunkSize, Supplier<A> supplier, LineAccumulator<A> accumulator,
+			BinaryOperator<A> combiner) throws IOException {
+		Preconditions.checkArgument(chunkSize > 0, "Bad chunk size %s", chunkSize);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			List<Long> boundaries = chunkBoundaries(channel, chunkSize);
+
+			try {
+				return IntStream.range(0, boundaries.size() - 1) //
+						.parallel() //
+						.mapToObj(i -> collectChunk(channel, boundaries.get(i), boundaries.get(i + 1), supplier.get(),
+								accumulator)) //
+						.reduce(combiner) //
+						.orElseGet(supplier);
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+	/**
+	 * Applies a byte-level predicate to a single String.
+	 */
+	public static boolean test(String line, LinePredicate predicate) {
+		byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+		return predicate.test(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * The offsets at which the chunks start, plus the file size at the end. Each chunk after the first starts just
+	 * after a newline.
+	 */
+	private static List<Long> chunkBoundaries(FileChannel channel, int chunkSize) throws IOException {
+		long size = channel.size();
+		List<Long> boundaries = new ArrayList<>();
+		boundaries.add(0L);
+
+		ByteBuffer probe = ByteBuffer.allocate(4096);
+		long position = chunkSize;
+		while (position < size) {
+			long newline = -1;
+			while (newline < 0 && position < size) {
+				probe.clear();
+				int read = channel.read(probe, position);
+				for (int i = 0; i < read && newline < 0; i++) {
+					if (probe.get(i) == '\n') {
+						newline = position + i;
+					}
+				}
+				if (newline < 0) {
+					position += read;
+				}
+			}
+			if (newline < 0) {
+				break;
+			}
+			boundaries.add(newline + 1);
+			position = newline + 1 + chunkSize;
+		}
+
+		boundaries.add(size);
+		return boundaries;
+	}
+
+	private static <A> A collectChunk(FileChannel channel, long from, long to, A container,
+			LineAccumulator<A> accumulator) {
+		byte[] bytes = new byte[Math.toIntExact(to - from)];
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, from + buffer.position()) < 0) {
+					break;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		int lineStart = 0;
+		for (int i = 0; i <= bytes.length; i++) {
+			if (i == bytes.length || bytes[i] == '\n') {
+				int lineEnd = (i > lineStart && bytes[i - 1] == '\r') ? i - 1 : i;
+				if (lineEnd > lineStart) {
+					accumulator.accept(container, bytes, lineStart, lineEnd);
+				}
+				lineStart = i + 1;
+			}
+		}
+		return container;
+	}
+
+}
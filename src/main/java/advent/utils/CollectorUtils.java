@@ -1,10 +1,13 @@
 package advent.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 
@@ -68,4 +71,67 @@ public class CollectorUtils {
 				StringBuilder::toString);
 	}
 
+	/**
+	 * Collector straight into an int array, without building a List of boxed Integers on the way.
+	 */
+	public static <T> Collector<T, ?, int[]> toIntArray(ToIntFunction<? super T> mapper) {
+		return Collector.of(IntArrayBuilder::new, //
+				(builder, item) -> builder.add(mapper.applyAsInt(item)), //
+				IntArrayBuilder::addAll, //
+				IntArrayBuilder::build);
+	}
+
+	public static <T> Collector<T, ?, long[]> toLongArray(ToLongFunction<? super T> mapper) {
+		return Collector.of(LongArrayBuilder::new, //
+				(builder, item) -> builder.add(mapper.applyAsLong(item)), //
+				LongArrayBuilder::addAll, //
+				LongArrayBuilder::build);
+	}
+
+	private static class IntArrayBuilder {
+		private int[] values = new int[16];
+		private int size = 0;
+
+		private void add(int value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		private IntArrayBuilder addAll(IntArrayBuilder other) {
+			this.values = Arrays.copyOf(this.values, Math.max(this.values.length, this.size + other.size));
+			System.arraycopy(other.values, 0, this.values, this.size, other.size);
+			this.size += other.size;
+			return this;
+		}
+
+		private int[] build() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+	}
+
+	private static class LongArrayBuilder {
+		private long[] values = new long[16];
+		private int size = 0;
+
+		private void add(long value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		private LongArrayBuilder addAll(LongArrayBuilder other) {
+			this.values = Arrays.copyOf(this.values, Math.max(this.values.length, this.size + other.size));
+			System.arraycopy(other.values, 0, this.values, this.size, other.size);
+			this.size += other.size;
+			return this;
+		}
+
+		private long[] build() {
+			return Arrays.copyOf(this.values, this.size);
+		}
+	}
+
 }
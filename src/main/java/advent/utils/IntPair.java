@@ -0,0 +1,28 @@
+package advent.utils;
+
+/**
+ * Two ints packed into a single long, so that a pair can be used as a key in {@link LongIntMap} or
+ * {@link VisitedCells} without boxing.
+ */
+public class IntPair {
+
+	private IntPair() {
+	}
+
+	public static long of(int first, int second) {
+		return ((long) first << Integer.SIZE) | (second & 0xFFFFFFFFL);
+	}
+
+	public static int first(long pair) {
+		return (int) (pair >> Integer.SIZE);
+	}
+
+	public static int second(long pair) {
+		return (int) pair;
+	}
+
+	public static String toString(long pair) {
+		return "[" + first(pair) + ", " + second(pair) + "]";
+	}
+
+}
@@ -0,0 +1,42 @@
+package advent.utils;
+
+import java.util.Arrays;
+
+/**
+ * Shared pieces of the open-addressing tables keyed by long.
+ */
+class LongHashing {
+
+	/**
+	 * Marks an unused slot. The key that equals it has to be stored outside the table.
+	 */
+	static final long EMPTY = Long.MIN_VALUE;
+
+	static final double MAX_LOAD = 0.6;
+
+	private LongHashing() {
+	}
+
+	static int capacityFor(int expectedSize) {
+		return Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) * 2 - 1);
+	}
+
+	static long[] newTable(int capacity) {
+		long[] table = new long[capacity];
+		Arrays.fill(table, EMPTY);
+		return table;
+	}
+
+	/**
+	 * The finalizer from MurmurHash3, so that neighbouring keys spread across the table.
+	 */
+	static int mix(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+}
@@ -0,0 +1,113 @@
+package advent.utils;
+
+import static advent.utils.LongHashing.EMPTY;
+import static advent.utils.LongHashing.MAX_LOAD;
+import static advent.utils.LongHashing.mix;
+import static advent.utils.LongHashing.newTable;
+
+import java.util.function.LongToIntFunction;
+
+/**
+ * A map from long to int that boxes neither, in an open-addressing hash table. Keys are often {@link IntPair}s.
+ */
+public class LongIntMap {
+
+	private long[] keys;
+	private int[] values;
+	private int size = 0;
+
+	/**
+	 * EMPTY marks unused slots in the table, so the value for the key EMPTY is kept aside.
+	 */
+	private boolean hasEmptyKey = false;
+	private int emptyKeyValue;
+
+	public LongIntMap() {
+		this(16);
+	}
+
+	public LongIntMap(int expectedSize) {
+		int capacity = LongHashing.capacityFor(expectedSize);
+		this.keys = newTable(capacity);
+		this.values = new int[capacity];
+	}
+
+	public boolean containsKey(long key) {
+		return key == EMPTY ? this.hasEmptyKey : this.keys[this.slot(key)] == key;
+	}
+
+	public int getOrDefault(long key, int defaultValue) {
+		if (key == EMPTY) {
+			return this.hasEmptyKey ? this.emptyKeyValue : defaultValue;
+		}
+		int slot = this.slot(key);
+		return this.keys[slot] == key ? this.values[slot] : defaultValue;
+	}
+
+	public void put(long key, int value) {
+		if (key == EMPTY) {
+			if (!this.hasEmptyKey) {
+				this.hasEmptyKey = true;
+				this.size++;
+			}
+			this.emptyKeyValue = value;
+			return;
+		}
+
+		int slot = this.slot(key);
+		if (this.keys[slot] == key) {
+			this.values[slot] = value;
+			return;
+		}
+
+		this.keys[slot] = key;
+		this.values[slot] = value;
+		this.size++;
+		if (this.size > this.keys.length * MAX_LOAD) {
+			this.grow();
+		}
+	}
+
+	/**
+	 * Like {@link java.util.Map#computeIfAbsent(Object, java.util.function.Function)}.
+	 */
+	public int computeIfAbsent(long key, LongToIntFunction mappingFunction) {
+		if (this.containsKey(key)) {
+			return this.getOrDefault(key, 0);
+		}
+		int value = mappingFunction.applyAsInt(key);
+		this.put(key, value);
+		return value;
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * The slot holding the key, or else the empty slot where it would go.
+	 */
+	private int slot(long key) {
+		int mask = this.keys.length - 1;
+		int slot = mix(key) & mask;
+		while (this.keys[slot] != key && this.keys[slot] != EMPTY) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void grow() {
+		long[] oldKeys = this.keys;
+		int[] oldValues = this.values;
+		this.keys = newTable(oldKeys.length * 2);
+		this.values = new int[this.keys.length];
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = this.slot(oldKeys[i]);
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = oldValues[i];
+			}
+		}
+	}
+
+}
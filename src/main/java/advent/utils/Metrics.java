@@ -0,0 +1,376 @@
+package advent.utils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+/**
+ * Counters, gauges and histograms for watching long-running searches and interpreters, instead of printing from their
+ * inner loops.
+ *
+ * Metrics are looked up by name once (typically into a static field) and then updated from the hot path. Counts are
+ * kept in {@link LongAdder}s, so many threads can update the same metric without contending.
+ *
+ * The shared instance, {@link #global()}, is disabled unless the JVM is started with -Dadvent.metrics=true. A disabled
+ * registry hands out metrics with nothing behind them: updating one is a single null check, and the arguments are
+ * never looked at. When it is enabled, a snapshot of every metric is also printed to standard error every
+ * advent.metrics.period seconds (10 by default) and once more on exit, and appended as a line of JSON to the file named
+ * by advent.metrics.json, if there is one.
+ *
+ * Counters, gauges and histograms share one namespace: a name can only be registered as one kind of metric.
+ */
+public class Metrics {
+
+	private static final Metrics GLOBAL = createGlobal();
+
+	private final boolean enabled;
+	private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+	public Metrics(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public static Metrics global() {
+		return GLOBAL;
+	}
+
+	private static Metrics createGlobal() {
+		Metrics metrics = new Metrics(Boolean.getBoolean("advent.metrics"));
+		if (metrics.isEnabled()) {
+			Duration period = Duration.ofSeconds(Long.getLong("advent.metrics.period", 10));
+			closeOnExit(metrics.sampleEvery(period, printingTo(System.err)));
+			String json = System.getProperty("advent.metrics.json");
+			if (json != null) {
+				closeOnExit(metrics.sampleEvery(period, appendingJsonTo(Paths.get(json))));
+			}
+		}
+		return metrics;
+	}
+
+	private static void closeOnExit(Sampler sampler) {
+		Runtime.getRuntime().addShutdownHook(new Thread(sampler::close, "metrics-final-sample"));
+	}
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * A running total, like the number of states expanded or instructions executed.
+	 */
+	public Counter counter(String name) {
+		return this.enabled ? this.register(name, Counter.class, () -> new Counter(new LongAdder())) : Counter.DISABLED;
+	}
+
+	/**
+	 * A value that goes up and down, like the size of a search frontier. The largest value it has held is kept too;
+	 * like the value itself, that starts at 0.
+	 */
+	public Gauge gauge(String name) {
+		return this.enabled ? this.register(name, Gauge.class, () -> new Gauge(new AtomicLong())) : Gauge.DISABLED;
+	}
+
+	/**
+	 * The distribution of some non-negative quantity, like the number of successors of each state.
+	 */
+	public Histogram histogram(String name) {
+		return this.enabled ? this.register(name, Histogram.class, () -> new Histogram(true)) : Histogram.DISABLED;
+	}
+
+	private <M extends Metric> M register(String name, Class<M> kind, Supplier<M> create) {
+		Metric metric = this.metrics.computeIfAbsent(name, n -> create.get());
+		Preconditions.checkArgument(kind.isInstance(metric), "%s is already a %s, not a %s", name,
+				metric.getClass().getSimpleName(), kind.getSimpleName());
+		return kind.cast(metric);
+	}
+
+	/**
+	 * The current value of every metric. (Metrics being updated meanwhile may or may not have their latest updates
+	 * included.)
+	 */
+	public Snapshot snapshot() {
+		ImmutableSortedMap.Builder<String, Object> values = ImmutableSortedMap.naturalOrder();
+		this.metrics.forEach((name, metric) -> values.put(name, metric.summary()));
+		return new Snapshot(Instant.now(), values.build());
+	}
+
+	/**
+	 * Hands a snapshot to the sink every period, on a background thread, until the returned sampler is closed. Closing
+	 * it takes one last snapshot, so the final values of a run are always seen. Does nothing if this registry is
+	 * disabled.
+	 *
+	 * A sample that fails (say, because the sink cannot write its file) is reported on standard error, and sampling
+	 * carries on; otherwise the executor would quietly cancel every later sample.
+	 */
+	public Sampler sampleEvery(Duration period, Consumer<Snapshot> sink) {
+		Preconditions.checkArgument(!period.isNegative() && !period.isZero(), "Bad sampling period %s", period);
+		if (!this.enabled) {
+			return () -> {
+			};
+		}
+
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-sampler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long millis = period.toMillis();
+		executor.scheduleAtFixedRate(() -> this.sampleInto(sink), millis, millis, TimeUnit.MILLISECONDS);
+
+		return () -> {
+			executor.shutdownNow();
+			this.sampleInto(sink);
+		};
+	}
+
+	private void sampleInto(Consumer<Snapshot> sink) {
+		try {
+			sink.accept(this.snapshot());
+		} catch (RuntimeException e) {
+			System.err.println("Metrics sample failed: " + e);
+		}
+	}
+
+	public static Consumer<Snapshot> printingTo(PrintStream out) {
+		return snapshot -> out.println(snapshot);
+	}
+
+	/**
+	 * Appends each snapshot to the file as one line of JSON.
+	 */
+	public static Consumer<Snapshot> appendingJsonTo(Path file) {
+		return snapshot -> {
+			try {
+				Files.writeString(file, snapshot.toJson() + System.lineSeparator(), StandardCharsets.UTF_8,
+						StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+
+	@FunctionalInterface
+	public static interface Sampler extends AutoCloseable {
+		@Override
+		public void close();
+	}
+
+	/**
+	 * What a metric contributes to a {@link Snapshot}.
+	 */
+	private static interface Metric {
+		public Object summary();
+	}
+
+	public static final class Counter implements Metric {
+
+		static final Counter DISABLED = new Counter(null);
+
+		private final LongAdder adder;
+
+		private Counter(LongAdder adder) {
+			this.adder = adder;
+		}
+
+		public void increment() {
+			if (this.adder != null) {
+				this.adder.increment();
+			}
+		}
+
+		public void add(long amount) {
+			if (this.adder != null) {
+				this.adder.add(amount);
+			}
+		}
+
+		public long get() {
+			return this.adder == null ? 0 : this.adder.sum();
+		}
+
+		@Override
+		public Object summary() {
+			return this.get();
+		}
+	}
+
+	public static final class Gauge implements Metric {
+
+		static final Gauge DISABLED = new Gauge(null);
+
+		private final AtomicLong value;
+		private final LongAccumulator max;
+
+		private Gauge(AtomicLong value) {
+			this.value = value;
+			this.max = value == null ? null : new LongAccumulator(Math::max, 0);
+		}
+
+		public void set(long newValue) {
+			if (this.value != null) {
+				this.value.set(newValue);
+				this.max.accumulate(newValue);
+			}
+		}
+
+		public long get() {
+			return this.value == null ? 0 : this.value.get();
+		}
+
+		public long max() {
+			return this.max == null ? 0 : this.max.get();
+		}
+
+		@Override
+		public Map<String, Long> summary() {
+			return ImmutableSortedMap.of("value", this.get(), "max", this.max());
+		}
+	}
+
+	/**
+	 * Counts values into power-of-two buckets: bucket 0 holds zeroes, and bucket b holds values from 2^(b-1) up to
+	 * 2^b - 1. Percentiles are reported as the top of the bucket they fall in, so they are within a factor of two.
+	 */
+	public static final class Histogram implements Metric {
+
+		static final Histogram DISABLED = new Histogram(false);
+
+		private static final int BUCKETS = Long.SIZE;
+
+		private final LongAdder[] buckets;
+		private final LongAdder sum;
+		private final LongAccumulator max;
+
+		private Histogram(boolean enabled) {
+			if (enabled) {
+				this.buckets = new LongAdder[BUCKETS];
+				for (int b = 0; b < BUCKETS; b++) {
+					this.buckets[b] = new LongAdder();
+				}
+				this.sum = new LongAdder();
+				this.max = new LongAccumulator(Math::max, 0);
+			} else {
+				this.buckets = null;
+				this.sum = null;
+				this.max = null;
+			}
+		}
+
+		public void record(long value) {
+			if (this.buckets != null) {
+				Preconditions.checkArgument(value >= 0, "Negative value %s", value);
+				this.buckets[BUCKETS - Long.numberOfLeadingZeros(value)].increment();
+				this.sum.add(value);
+				this.max.accumulate(value);
+			}
+		}
+
+		public long count() {
+			long count = 0;
+			if (this.buckets != null) {
+				for (LongAdder bucket : this.buckets) {
+					count += bucket.sum();
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * An upper bound (within a factor of two) on the given fraction of the values recorded so far.
+		 */
+		public long percentile(double fraction) {
+			Preconditions.checkArgument(fraction >= 0 && fraction <= 1, "Bad fraction %s", fraction);
+			if (this.buckets == null) {
+				return 0;
+			}
+
+			long[] counts = new long[BUCKETS];
+			long total = 0;
+			for (int b = 0; b < BUCKETS; b++) {
+				counts[b] = this.buckets[b].sum();
+				total += counts[b];
+			}
+
+			long needed = (long) Math.ceil(fraction * total);
+			long seen = 0;
+			for (int b = 0; b < BUCKETS; b++) {
+				seen += counts[b];
+				if (counts[b] > 0 && seen >= needed) {
+					return Math.min(b == 0 ? 0 : (1L << b) - 1, this.max.get());
+				}
+			}
+			return 0;
+		}
+
+		@Override
+		public Map<String, Long> summary() {
+			return ImmutableSortedMap.<String, Long> naturalOrder() //
+					.put("count", this.count()) //
+					.put("sum", this.sum == null ? 0 : this.sum.sum()) //
+					.put("max", this.max == null ? 0 : this.max.get()) //
+					.put("p50", this.percentile(0.5)) //
+					.put("p99", this.percentile(0.99)) //
+					.build();
+		}
+	}
+
+	/**
+	 * The values of all the metrics at one moment. A counter's value is a number; a gauge's or histogram's is a map of
+	 * named numbers.
+	 */
+	public static final class Snapshot {
+
+		private static final Gson GSON = new Gson();
+
+		private final Instant time;
+		private final ImmutableSortedMap<String, Object> values;
+
+		private Snapshot(Instant time, ImmutableSortedMap<String, Object> values) {
+			this.time = time;
+			this.values = values;
+		}
+
+		public Instant getTime() {
+			return this.time;
+		}
+
+		public ImmutableSortedMap<String, Object> getValues() {
+			return this.values;
+		}
+
+		public String toJson() {
+			JsonObject json = new JsonObject();
+			json.addProperty("time", this.time.toString());
+			json.add("metrics", GSON.toJsonTree(this.values));
+			return GSON.toJson(json);
+		}
+
+		@Override
+		public String toString() {
+			return this.time + " " + this.values;
+		}
+	}
+
+}
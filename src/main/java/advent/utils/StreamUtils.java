@@ -5,8 +5,14 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -51,4 +57,18 @@ public class StreamUtils {
 				Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.IMMUTABLE), false);
 	}
 
+	/**
+	 * {@link #iterateUntil(Object, UnaryOperator, Predicate)} for an int seed, without boxing each element. (This is
+	 * not an overload, so that existing calls with an int seed keep producing a Stream of Integers.)
+	 */
+	public static IntStream iterateIntsUntil(int seed, IntUnaryOperator f, IntPredicate stopCondition) {
+		Objects.requireNonNull(f);
+		return IntStream.iterate(seed, stopCondition.negate(), f);
+	}
+
+	public static LongStream iterateLongsUntil(long seed, LongUnaryOperator f, LongPredicate stopCondition) {
+		Objects.requireNonNull(f);
+		return LongStream.iterate(seed, stopCondition.negate(), f);
+	}
+
 }
@@ -0,0 +1,116 @@
+package advent.utils;
+
+import static advent.utils.LongHashing.EMPTY;
+import static advent.utils.LongHashing.MAX_LOAD;
+import static advent.utils.LongHashing.mix;
+import static advent.utils.LongHashing.newTable;
+
+/**
+ * The set of (x, y) grid cells visited so far, for walks that take a great many steps.
+ *
+ * Each cell is packed into a single long (see {@link IntPair}) and stored in an open-addressing hash table, so visiting a cell allocates
+ * nothing. It is not thread-safe: several walkers can share one instance only by taking turns on a single thread.
+ */
+public class VisitedCells {
+
+	private long[] table;
+	private int size = 0;
+
+	/**
+	 * EMPTY marks unused slots in the table, so whether the cell that packs to EMPTY has been visited is kept aside.
+	 */
+	private boolean emptyCellVisited = false;
+
+	public VisitedCells() {
+		this(16);
+	}
+
+	public VisitedCells(int expectedSize) {
+		this.table = newTable(LongHashing.capacityFor(expectedSize));
+	}
+
+	public static long pack(int x, int y) {
+		return IntPair.of(x, y);
+	}
+
+	public static int unpackX(long cell) {
+		return IntPair.first(cell);
+	}
+
+	public static int unpackY(long cell) {
+		return IntPair.second(cell);
+	}
+
+	/**
+	 * Marks the cell as visited. Returns true if it had not been visited before.
+	 */
+	public boolean visit(int x, int y) {
+		return this.visit(pack(x, y));
+	}
+
+	public boolean visit(long cell) {
+		if (cell == EMPTY) {
+			if (this.emptyCellVisited) {
+				return false;
+			}
+			this.emptyCellVisited = true;
+			this.size++;
+			return true;
+		}
+
+		int mask = this.table.length - 1;
+		for (int slot = mix(cell) & mask;; slot = (slot + 1) & mask) {
+			if (this.table[slot] == cell) {
+				return false;
+			}
+			if (this.table[slot] == EMPTY) {
+				this.table[slot] = cell;
+				this.size++;
+				if (this.size > this.table.length * MAX_LOAD) {
+					this.grow();
+				}
+				return true;
+			}
+		}
+	}
+
+	public boolean hasVisited(int x, int y) {
+		return this.hasVisited(pack(x, y));
+	}
+
+	public boolean hasVisited(long cell) {
+		if (cell == EMPTY) {
+			return this.emptyCellVisited;
+		}
+
+		int mask = this.table.length - 1;
+		for (int slot = mix(cell) & mask;; slot = (slot + 1) & mask) {
+			if (this.table[slot] == cell) {
+				return true;
+			}
+			if (this.table[slot] == EMPTY) {
+				return false;
+			}
+		}
+	}
+
+	public int size() {
+		return this.size;
+	}
+
+	private void grow() {
+		long[] old = this.table;
+		this.table = newTable(old.length * 2);
+		int mask = this.table.length - 1;
+		for (long cell : old) {
+			if (cell != EMPTY) {
+				int slot = mix(cell) & mask;
+				while (this.table[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				this.table[slot] = cell;
+			}
+		}
+	}
+
+}
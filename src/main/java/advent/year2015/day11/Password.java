@@ -46,7 +46,7 @@ public class Password {
 	private final String rawString;
 
 	public Password(String rawString) {
-		Preconditions.checkArgument(rawString.length() == 8);
+		Preconditions.checkArgument(rawString.matches("[a-z]+"), "Bad password %s", rawString);
 		this.rawString = rawString;
 	}
 
@@ -84,7 +84,7 @@ public class Password {
 	}
 
 	public static boolean hasIncreasingStraight(Password input) {
-		for (int i = 0; i < input.rawString.length() - 3; i++) {
+		for (int i = 0; i <= input.rawString.length() - 3; i++) {
 			if (isIncreasingStraight(input.rawString.substring(i, i + 3))) {
 				return true;
 			}
@@ -121,6 +121,6 @@ public class Password {
 	}
 
 	public static void main(String[] args) {
-		System.out.println(new Password("hxbxxyzz").incrementToNextValid(Password::securityElfApproves));
+		System.out.println(PasswordGenerator.SECURITY_ELF.next(new Password("hxbxxyzz")));
 	}
 }
\ No newline at end of file
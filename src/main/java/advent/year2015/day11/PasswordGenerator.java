@@ -0,0 +1,193 @@
+package advent.year2015.day11;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Finds the next valid password by running an odometer of letters, rather than building and checking a new string
+ * for every candidate.
+ *
+ * Forbidden letters are never produced at all: as soon as one would appear, the odometer steps that position to the
+ * next allowed letter and resets everything after it to 'a', skipping the whole block of candidates in one move.
+ *
+ * The remaining rules are checked incrementally. Each rule keeps an int of state per prefix of the password, so when
+ * only the last few letters change, only those few states need to be recomputed.
+ */
+public class PasswordGenerator {
+
+	private static final int ALPHABET_SIZE = 26;
+
+	public static final PasswordGenerator SECURITY_ELF = new PasswordGenerator("iol",
+			ImmutableList.of(Rule.INCREASING_STRAIGHT, Rule.TWO_PAIRS));
+
+	private final boolean[] forbidden = new boolean[ALPHABET_SIZE];
+	private final byte firstAllowed;
+	private final List<Rule> rules;
+
+	public PasswordGenerator(String forbiddenLetters, List<Rule> rules) {
+		for (char c : forbiddenLetters.toCharArray()) {
+			Preconditions.checkArgument(c >= 'a' && c <= 'z', "Bad forbidden letter %s", c);
+			this.forbidden[c - 'a'] = true;
+		}
+		this.firstAllowed = this.nextAllowed(-1);
+		Preconditions.checkArgument(this.firstAllowed < ALPHABET_SIZE, "Every letter is forbidden");
+		this.rules = ImmutableList.copyOf(rules);
+	}
+
+	public Password next(Password previous) {
+		String raw = previous.toString();
+		int length = raw.length();
+		byte[] letters = new byte[length];
+		for (int i = 0; i < length; i++) {
+			letters[i] = (byte) (raw.charAt(i) - 'a');
+		}
+
+		// states[r][i] is the state of rule r after reading the first i letters.
+		int[][] states = new int[this.rules.size()][length + 1];
+		for (int r = 0; r < this.rules.size(); r++) {
+			states[r][0] = this.rules.get(r).initialState();
+		}
+
+		this.advance(letters, this.firstForbidden(letters).orElse(length - 1));
+		// No states are known yet for the first candidate.
+		int changedFrom = 0;
+
+		while (true) {
+			if (this.updateStates(letters, states, changedFrom)) {
+				return new Password(toString(letters));
+			}
+			changedFrom = this.advance(letters, length - 1);
+		}
+	}
+
+	/**
+	 * Recomputes each rule's state from the changed position onward, and returns whether they all accept the whole
+	 * password.
+	 */
+	private boolean updateStates(byte[] letters, int[][] states, int changedFrom) {
+		boolean allSatisfied = true;
+		for (int r = 0; r < this.rules.size(); r++) {
+			Rule rule = this.rules.get(r);
+			int[] ruleStates = states[r];
+			for (int i = changedFrom; i < letters.length; i++) {
+				ruleStates[i + 1] = rule.nextState(ruleStates[i], letters, i);
+			}
+			allSatisfied &= rule.accepts(ruleStates[letters.length]);
+		}
+		return allSatisfied;
+	}
+
+	/**
+	 * Moves to the smallest password, with no forbidden letters, that is larger than the current one in the given
+	 * position. Returns the leftmost position that changed.
+	 */
+	private int advance(byte[] letters, int position) {
+		for (int i = position + 1; i < letters.length; i++) {
+			letters[i] = this.firstAllowed;
+		}
+
+		for (int i = position; i >= 0; i--) {
+			byte next = this.nextAllowed(letters[i]);
+			if (next < ALPHABET_SIZE) {
+				letters[i] = next;
+				return i;
+			}
+			letters[i] = this.firstAllowed;
+		}
+
+		throw new NoSuchElementException("No more passwords of length " + letters.length);
+	}
+
+	private byte nextAllowed(int letter) {
+		int next = letter + 1;
+		while (next < ALPHABET_SIZE && this.forbidden[next]) {
+			next++;
+		}
+		return (byte) next;
+	}
+
+	private OptionalInt firstForbidden(byte[] letters) {
+		for (int i = 0; i < letters.length; i++) {
+			if (this.forbidden[letters[i]]) {
+				return OptionalInt.of(i);
+			}
+		}
+		return OptionalInt.empty();
+	}
+
+	private static String toString(byte[] letters) {
+		char[] chars = new char[letters.length];
+		for (int i = 0; i < letters.length; i++) {
+			chars[i] = (char) ('a' + letters[i]);
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * A rule read left to right over the letters (0 for 'a' through 25 for 'z'), carrying an int of state.
+	 */
+	public static interface Rule {
+
+		public int initialState();
+
+		/**
+		 * The state after also reading letters[position], given the state from the letters before it.
+		 */
+		public int nextState(int state, byte[] letters, int position);
+
+		public boolean accepts(int state);
+
+		/**
+		 * Three consecutive increasing letters, like "abc". The state is 1 once one has been seen.
+		 */
+		public static final Rule INCREASING_STRAIGHT = new Rule() {
+			@Override
+			public int initialState() {
+				return 0;
+			}
+
+			@Override
+			public int nextState(int state, byte[] letters, int position) {
+				if (state == 1) {
+					return 1;
+				}
+				boolean straight = position >= 2 && letters[position - 1] == letters[position - 2] + 1
+						&& letters[position] == letters[position - 1] + 1;
+				return straight ? 1 : 0;
+			}
+
+			@Override
+			public boolean accepts(int state) {
+				return state == 1;
+			}
+		};
+
+		/**
+		 * Pairs of at least two different letters, like "aa" and "zz". The state is a bitmask of the paired letters.
+		 */
+		public static final Rule TWO_PAIRS = new Rule() {
+			@Override
+			public int initialState() {
+				return 0;
+			}
+
+			@Override
+			public int nextState(int state, byte[] letters, int position) {
+				if (position >= 1 && letters[position] == letters[position - 1]) {
+					return state | (1 << letters[position]);
+				}
+				return state;
+			}
+
+			@Override
+			public boolean accepts(int state) {
+				return Integer.bitCount(state) > 1;
+			}
+		};
+	}
+
+}
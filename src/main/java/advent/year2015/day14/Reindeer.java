@@ -5,7 +5,6 @@ import static java.util.stream.Collectors.toList;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Comparator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -54,8 +53,6 @@ public class Reindeer {
 	private final int enduranceInSeconds;
 	private final int restPeriodInSeconds;
 
-	private int points = 0;
-
 	private static final Pattern REGEX = Pattern
 			.compile("\\w+ can fly (\\d+) km/s for (\\d+) seconds, but then must rest for (\\d+) seconds.");
 
@@ -69,6 +66,22 @@ public class Reindeer {
 		this.speedInKps = Integer.valueOf(matcher.group(1));
 		this.enduranceInSeconds = Integer.valueOf(matcher.group(2));
 		this.restPeriodInSeconds = Integer.valueOf(matcher.group(3));
+
+		if (this.enduranceInSeconds <= 0 || this.restPeriodInSeconds <= 0) {
+			throw new IllegalArgumentException(representation);
+		}
+	}
+
+	public int getSpeedInKps() {
+		return this.speedInKps;
+	}
+
+	public int getEnduranceInSeconds() {
+		return this.enduranceInSeconds;
+	}
+
+	public int getRestPeriodInSeconds() {
+		return this.restPeriodInSeconds;
 	}
 
 	private int period() {
@@ -97,17 +110,11 @@ public class Reindeer {
 				.max().getAsInt();
 	}
 
-	public static int maxPoints() throws IOException {
+	public static long maxPoints() throws IOException {
 		int duration = 2503;
 		List<Reindeer> reindeer = reindeerFromFile().collect(toList());
 
-		for (int t = 1; t <= duration; t++) {
-			int currentTime = t;
-			Reindeer leader = reindeer.stream().max(Comparator.comparing(r -> r.distanceTraveled(currentTime))).get();
-			leader.points++;
-		}
-
-		return reindeer.stream().mapToInt(r -> r.points).max().getAsInt();
+		return new ReindeerRace(reindeer).winningPoints(duration);
 	}
 
 	public static void main(String[] args) throws IOException {
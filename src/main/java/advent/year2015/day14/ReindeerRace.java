@@ -0,0 +1,184 @@
+package advent.year2015.day14;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scores a race under the "point per second in the lead" rules without stepping through every second.
+ *
+ * Each reindeer only changes speed when it starts or stops resting, so those transitions are kept in a heap of packed
+ * longs and the race jumps from one to the next. Between two transitions every reindeer moves at a constant speed, so
+ * the lead only changes hands when a faster reindeer catches the leader; we work out when that will be, and award the
+ * whole stretch of seconds before it in one go.
+ *
+ * Each transition, and each change of leaders between transitions, still costs a few passes over the whole herd. So
+ * the work grows with the herd size times the number of transitions and lead changes, rather than times the number
+ * of seconds; it suits long races, but not very large herds of reindeer on short cycles.
+ */
+public class ReindeerRace {
+
+	private final int[] speeds;
+	private final int[] endurances;
+	private final int[] restPeriods;
+
+	public ReindeerRace(List<Reindeer> herd) {
+		this.speeds = herd.stream().mapToInt(Reindeer::getSpeedInKps).toArray();
+		this.endurances = herd.stream().mapToInt(Reindeer::getEnduranceInSeconds).toArray();
+		this.restPeriods = herd.stream().mapToInt(Reindeer::getRestPeriodInSeconds).toArray();
+	}
+
+	public long winningPoints(long duration) {
+		return Arrays.stream(this.points(duration)).max().getAsLong();
+	}
+
+	/**
+	 * The points for each reindeer, in herd order. Every reindeer tied for the lead at the end of a second gets a
+	 * point.
+	 */
+	public long[] points(long duration) {
+		int herdSize = this.speeds.length;
+		long[] points = new long[herdSize];
+		long[] positions = new long[herdSize];
+		int[] velocities = new int[herdSize];
+		boolean[] flying = new boolean[herdSize];
+
+		long[] events = new long[herdSize];
+		for (int i = 0; i < herdSize; i++) {
+			flying[i] = true;
+			velocities[i] = this.speeds[i];
+			events[i] = packEvent(this.endurances[i], i);
+		}
+		TransitionHeap transitions = new TransitionHeap(events);
+
+		long now = 0;
+		while (now < duration) {
+			long next = transitions.isEmpty() ? duration : Math.min(eventTime(transitions.peek()), duration);
+
+			scoreInterval(positions, velocities, points, now, next);
+			for (int i = 0; i < herdSize; i++) {
+				positions[i] += velocities[i] * (next - now);
+			}
+			now = next;
+
+			while (!transitions.isEmpty() && eventTime(transitions.peek()) == now) {
+				int i = eventIndex(transitions.peek());
+				flying[i] = !flying[i];
+				velocities[i] = flying[i] ? this.speeds[i] : 0;
+				transitions.replaceTop(packEvent(now + (flying[i] ? this.endurances[i] : this.restPeriods[i]), i));
+			}
+		}
+
+		return points;
+	}
+
+	/**
+	 * Awards points for the seconds from + 1 through to, during which every reindeer keeps its current velocity.
+	 */
+	private static void scoreInterval(long[] positions, int[] velocities, long[] points, long from, long to) {
+		long second = from + 1;
+		while (second <= to) {
+			long elapsed = second - from;
+
+			long lead = Long.MIN_VALUE;
+			int slowestLeader = Integer.MAX_VALUE;
+			int fastestLeader = Integer.MIN_VALUE;
+			for (int i = 0; i < positions.length; i++) {
+				long distance = positions[i] + velocities[i] * elapsed;
+				if (distance > lead) {
+					lead = distance;
+					slowestLeader = velocities[i];
+					fastestLeader = velocities[i];
+				} else if (distance == lead) {
+					slowestLeader = Math.min(slowestLeader, velocities[i]);
+					fastestLeader = Math.max(fastestLeader, velocities[i]);
+				}
+			}
+
+			// The leaders stay the same until someone faster catches up - or, if the leaders are going different
+			// speeds, only for this one second.
+			long lastSameLeaders = to;
+			if (slowestLeader != fastestLeader) {
+				lastSameLeaders = second;
+			} else {
+				for (int i = 0; i < positions.length; i++) {
+					if (velocities[i] > fastestLeader) {
+						long behind = lead - (positions[i] + velocities[i] * elapsed);
+						long catchUp = second + Math.floorDiv(behind + velocities[i] - fastestLeader - 1,
+								velocities[i] - fastestLeader);
+						lastSameLeaders = Math.min(lastSameLeaders, catchUp - 1);
+					}
+				}
+			}
+
+			for (int i = 0; i < positions.length; i++) {
+				if (positions[i] + velocities[i] * elapsed == lead) {
+					points[i] += lastSameLeaders - second + 1;
+				}
+			}
+
+			second = lastSameLeaders + 1;
+		}
+	}
+
+	/**
+	 * A binary min-heap of events, packed as (time << 32 | reindeer index) so that they order by time. Every reindeer
+	 * always has exactly one transition pending, so the heap never changes size: the earliest event is replaced by
+	 * that reindeer's next one.
+	 */
+	private static class TransitionHeap {
+
+		private final long[] heap;
+
+		private TransitionHeap(long[] events) {
+			this.heap = events;
+			for (int i = this.heap.length / 2 - 1; i >= 0; i--) {
+				this.siftDown(i);
+			}
+		}
+
+		private boolean isEmpty() {
+			return this.heap.length == 0;
+		}
+
+		private long peek() {
+			return this.heap[0];
+		}
+
+		private void replaceTop(long event) {
+			this.heap[0] = event;
+			this.siftDown(0);
+		}
+
+		private void siftDown(int index) {
+			long event = this.heap[index];
+			while (true) {
+				int child = 2 * index + 1;
+				if (child >= this.heap.length) {
+					break;
+				}
+				if (child + 1 < this.heap.length && this.heap[child + 1] < this.heap[child]) {
+					child++;
+				}
+				if (event <= this.heap[child]) {
+					break;
+				}
+				this.heap[index] = this.heap[child];
+				index = child;
+			}
+			this.heap[index] = event;
+		}
+	}
+
+	private static long packEvent(long time, int index) {
+		return (time << Integer.SIZE) | index;
+	}
+
+	private static long eventTime(long event) {
+		return event >>> Integer.SIZE;
+	}
+
+	private static int eventIndex(long event) {
+		return (int) event;
+	}
+
+}
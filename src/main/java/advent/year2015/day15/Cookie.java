@@ -1,7 +1,6 @@
 package advent.year2015.day15;
 
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -9,6 +8,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -106,21 +106,6 @@ public class Cookie {
 		return total > 0 ? total : 0;
 	}
 
-	private static Stream<Cookie> possibleCookies(List<Ingredient> ingredients) {
-		return allListsThatSumTo(VOLUME, ingredients.size()) //
-				.map(quantities -> byIngredientCount(ingredients, quantities));
-	}
-
-	private static Cookie byIngredientCount(List<Ingredient> ingredients, List<Integer> quantities) {
-		Preconditions.checkArgument(ingredients.size() == quantities.size());
-
-		Map<Ingredient, Integer> recipe = IntStream.range(0, quantities.size()) //
-				.mapToObj(i -> i) //
-				.collect(toMap(ingredients::get, quantities::get));
-
-		return new Cookie(recipe);
-	}
-
 	public static Stream<List<Integer>> allListsThatSumTo(int total, int elements) {
 		if (elements == 1) {
 			List<Integer> list = new ArrayList<>();
@@ -155,16 +140,11 @@ public class Cookie {
 	}
 
 	public static int optimumScore(List<Ingredient> ingredients) {
-		return possibleCookies(ingredients) //
-				.mapToInt(Cookie::score) //
-				.max().getAsInt();
+		return Math.toIntExact(new RecipeOptimizer(ingredients, VOLUME, OptionalInt.empty()).optimumScore());
 	}
 
 	public static int optimumScore(List<Ingredient> ingredients, int calorieCount) {
-		return possibleCookies(ingredients) //
-				.filter(c -> c.calories() == calorieCount) //
-				.mapToInt(Cookie::score) //
-				.max().getAsInt();
+		return Math.toIntExact(new RecipeOptimizer(ingredients, VOLUME, OptionalInt.of(calorieCount)).optimumScore());
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package advent.year2015.day15;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+
+import com.google.common.base.Preconditions;
+import com.google.common.math.LongMath;
+
+/**
+ * Searches every way of splitting a volume of teaspoons among the ingredients for the best scoring recipe.
+ *
+ * Quantities are assigned one ingredient at a time, keeping running totals for each attribute in a single array. From
+ * the best and worst the remaining ingredients can do, a branch is abandoned as soon as the calorie target can no
+ * longer be hit, or the product of the best possible totals can no longer beat the best score found so far. (That
+ * includes any branch where a scored property can no longer end up positive.) The branches for each quantity of the
+ * first ingredient are searched in parallel.
+ *
+ * On large volumes the bound can be far beyond a long, so it saturates at Long.MAX_VALUE (which never prunes); a score
+ * that itself does not fit in a long is an ArithmeticException rather than a wrapped value.
+ */
+public class RecipeOptimizer {
+
+	private static final int SCORED_ATTRIBUTES = 4;
+	private static final int CALORIES = SCORED_ATTRIBUTES;
+
+	private final int ingredientCount;
+	private final int volume;
+	private final OptionalInt calorieTarget;
+
+	/**
+	 * attributes[i][a] is attribute a of ingredient i, in the order capacity, durability, flavor, texture, calories.
+	 */
+	private final int[][] attributes;
+
+	/**
+	 * The largest (and smallest) value of each attribute among ingredients i and later.
+	 */
+	private final int[][] suffixMax;
+	private final int[][] suffixMin;
+
+	public RecipeOptimizer(List<Ingredient> ingredients, int volume, OptionalInt calorieTarget) {
+		Preconditions.checkArgument(!ingredients.isEmpty(), "No ingredients");
+		Preconditions.checkArgument(volume >= 0, "Negative volume %s", volume);
+
+		this.ingredientCount = ingredients.size();
+		this.volume = volume;
+		this.calorieTarget = calorieTarget;
+
+		this.attributes = ingredients.stream() //
+				.map(ingredient -> new int[] { ingredient.getCapacity(), ingredient.getDurability(),
+						ingredient.getFlavor(), ingredient.getTexture(), ingredient.getCalories() }) //
+				.toArray(int[][]::new);
+
+		this.suffixMax = new int[this.ingredientCount][CALORIES + 1];
+		this.suffixMin = new int[this.ingredientCount][CALORIES + 1];
+		for (int i = this.ingredientCount - 1; i >= 0; i--) {
+			for (int a = 0; a <= CALORIES; a++) {
+				boolean last = i == this.ingredientCount - 1;
+				this.suffixMax[i][a] = last ? this.attributes[i][a]
+						: Math.max(this.attributes[i][a], this.suffixMax[i + 1][a]);
+				this.suffixMin[i][a] = last ? this.attributes[i][a]
+						: Math.min(this.attributes[i][a], this.suffixMin[i + 1][a]);
+			}
+		}
+	}
+
+	/**
+	 * The best score of any recipe (meeting the calorie target, if there is one); 0 if none scores positively.
+	 *
+	 * @throws ArithmeticException if a recipe's score does not fit in a long.
+	 */
+	public long optimumScore() {
+		return IntStream.rangeClosed(0, this.volume) //
+				.parallel() //
+				.mapToLong(firstQuantity -> {
+					long[] totals = new long[CALORIES + 1];
+					return this.search(totals, 0, this.volume, firstQuantity, 0L);
+				}) //
+				.max() //
+				.getAsLong();
+	}
+
+	private long search(long[] totals, int index, int remaining, int quantity, long best) {
+		this.add(totals, index, quantity);
+		int nowRemaining = remaining - quantity;
+
+		if (index == this.ingredientCount - 1 || nowRemaining == 0) {
+			if (nowRemaining == 0) {
+				best = Math.max(best, this.score(totals));
+			}
+		} else if (this.canImprove(totals, index + 1, nowRemaining, best)) {
+			boolean lastIngredient = index + 1 == this.ingredientCount - 1;
+			for (int next = lastIngredient ? nowRemaining : 0; next <= nowRemaining; next++) {
+				best = this.search(totals, index + 1, nowRemaining, next, best);
+			}
+		}
+
+		this.add(totals, index, -quantity);
+		return best;
+	}
+
+	private void add(long[] totals, int index, int quantity) {
+		for (int a = 0; a <= CALORIES; a++) {
+			totals[a] += (long) quantity * this.attributes[index][a];
+		}
+	}
+
+	/**
+	 * Whether the ingredients from 'from' onward, sharing the remaining volume, could still give a score above 'best'
+	 * that meets the calorie target.
+	 */
+	private boolean canImprove(long[] totals, int from, int remaining, long best) {
+		long bound = 1;
+		for (int a = 0; a < SCORED_ATTRIBUTES; a++) {
+			long attributeBound = totals[a] + (long) remaining * this.suffixMax[from][a];
+			if (attributeBound <= 0) {
+				return false;
+			}
+			bound = LongMath.saturatedMultiply(bound, attributeBound);
+		}
+		if (bound <= best) {
+			return false;
+		}
+
+		if (this.calorieTarget.isPresent()) {
+			long needed = this.calorieTarget.getAsInt() - totals[CALORIES];
+			return needed >= (long) remaining * this.suffixMin[from][CALORIES]
+					&& needed <= (long) remaining * this.suffixMax[from][CALORIES];
+		}
+
+		return true;
+	}
+
+	private long score(long[] totals) {
+		if (this.calorieTarget.isPresent() && totals[CALORIES] != this.calorieTarget.getAsInt()) {
+			return 0;
+		}
+
+		long score = 1;
+		for (int a = 0; a < SCORED_ATTRIBUTES; a++) {
+			score = Math.multiplyExact(score, Math.max(totals[a], 0));
+		}
+		return score;
+	}
+
+}
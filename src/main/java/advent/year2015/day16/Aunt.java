@@ -1,5 +1,6 @@
 package advent.year2015.day16;
 
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 import java.io.IOException;
@@ -11,6 +12,7 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import com.google.common.base.Splitter;
+import com.google.common.collect.Range;
 
 /**
  * --- Day 16: Aunt Sue ---
@@ -83,6 +85,10 @@ public class Aunt {
 		return this.name;
 	}
 
+	Map<String, Integer> getKnownPossessions() {
+		return this.knownPossessions;
+	}
+
 	public boolean consistentWithValues(Map<String, Integer> possessions) {
 		Map<String, Predicate<Integer>> predicates = possessions.entrySet() //
 				.stream() //
@@ -121,31 +127,46 @@ public class Aunt {
 	public static Map<String, Predicate<Integer>> retroencabulatedMfcsamResult() {
 		Map<String, Predicate<Integer>> output = new HashMap<>();
 
-		output.put("cats", i -> i > 7);
-		output.put("trees", i -> i > 3);
+		retroencabulatedMfcsamRanges().forEach((possession, range) -> output.put(possession, range::contains));
 
-		output.put("pomeranians", i -> i < 3);
-		output.put("goldfish", i -> i < 5);
+		return output;
+	}
 
-		output.put("children", i -> i == 3);
-		output.put("samoyeds", i -> i == 2);
-		output.put("akitas", i -> i == 0);
-		output.put("vizslas", i -> i == 0);
-		output.put("cars", i -> i == 2);
-		output.put("perfumes", i -> i == 1);
+	/**
+	 * The same reading as {@link #retroencabulatedMfcsamResult()}, in the form that {@link AuntIndex} takes. Both are
+	 * built from {@link #mfcsamResult()}: the cats and trees readings are lower bounds, the pomeranians and goldfish
+	 * readings are upper bounds, and the rest are exact.
+	 */
+	public static Map<String, Range<Integer>> retroencabulatedMfcsamRanges() {
+		Map<String, Range<Integer>> output = new HashMap<>();
+
+		mfcsamResult().forEach((possession, reading) -> output.put(possession, retroencabulated(possession, reading)));
 
 		return output;
 	}
 
+	private static Range<Integer> retroencabulated(String possession, int reading) {
+		switch (possession) {
+		case "cats":
+		case "trees":
+			return Range.greaterThan(reading);
+		case "pomeranians":
+		case "goldfish":
+			return Range.lessThan(reading);
+		default:
+			return Range.singleton(reading);
+		}
+	}
+
 	private static Stream<Aunt> auntsFromFile() throws IOException {
 		return Files.lines(Paths.get("src/main/java/advent/year2015/day16/input.txt")) //
 				.map(Aunt::new);
 	}
 
 	public static void main(String[] args) throws IOException {
-		auntsFromFile() //
-				.filter(aunt -> aunt.consistentWith(retroencabulatedMfcsamResult())) //
-				.forEach(aunt -> System.out.println(aunt.getName()));
+		AuntIndex index = new AuntIndex(auntsFromFile().collect(toList()));
+		index.consistentWithValues(mfcsamResult()).forEach(System.out::println);
+		index.consistentWith(retroencabulatedMfcsamRanges()).forEach(System.out::println);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package advent.year2015.day16;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.BoundType;
+import com.google.common.collect.Range;
+
+/**
+ * Answers which aunts are consistent with a reading, for many readings against a great many aunts.
+ *
+ * Each compound name is interned to a column, and each column holds the value every aunt is remembered to have in a
+ * single int array, with UNKNOWN where it isn't remembered. A query works through the aunts a block at a time,
+ * narrowing down the candidates in the block one column at a time and stopping as soon as none are left.
+ */
+public class AuntIndex {
+
+	private static final int UNKNOWN = Integer.MIN_VALUE;
+
+	/**
+	 * Queries work through the aunts in blocks of this many, in parallel.
+	 */
+	private static final int BLOCK_SIZE = 1 << 12;
+
+	private final String[] names;
+	private final Map<String, Integer> columnIds = new HashMap<>();
+	private final List<int[]> columns = new ArrayList<>();
+
+	public AuntIndex(List<Aunt> aunts) {
+		this.names = new String[aunts.size()];
+		for (int row = 0; row < aunts.size(); row++) {
+			Aunt aunt = aunts.get(row);
+			this.names[row] = aunt.getName();
+			for (Map.Entry<String, Integer> possession : aunt.getKnownPossessions().entrySet()) {
+				int value = possession.getValue();
+				if (value == UNKNOWN) {
+					throw new IllegalArgumentException("Unrepresentable count " + value);
+				}
+				this.column(possession.getKey())[row] = value;
+			}
+		}
+	}
+
+	private int[] column(String compound) {
+		int id = this.columnIds.computeIfAbsent(compound, c -> {
+			int[] column = new int[this.names.length];
+			Arrays.fill(column, UNKNOWN);
+			this.columns.add(column);
+			return this.columns.size() - 1;
+		});
+		return this.columns.get(id);
+	}
+
+	public int size() {
+		return this.names.length;
+	}
+
+	/**
+	 * The names of the aunts whose known possessions all fall within the given ranges.
+	 */
+	public List<String> consistentWith(Map<String, Range<Integer>> possessions) {
+		List<int[]> queriedColumns = new ArrayList<>();
+		List<Range<Integer>> ranges = new ArrayList<>();
+		possessions.forEach((possession, range) -> {
+			Integer id = this.columnIds.get(possession);
+			// Nobody remembers a compound that has no column, so it rules nobody out.
+			if (id != null) {
+				queriedColumns.add(this.columns.get(id));
+				ranges.add(range);
+			}
+		});
+
+		int[] mins = ranges.stream().mapToInt(AuntIndex::lowest).toArray();
+		int[] maxes = ranges.stream().mapToInt(AuntIndex::highest).toArray();
+		int[][] columns = queriedColumns.toArray(new int[0][]);
+
+		int blockCount = (this.names.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		return IntStream.range(0, blockCount) //
+				.parallel() //
+				.mapToObj(block -> this.consistentRows(block, columns, mins, maxes)) //
+				.flatMapToInt(Arrays::stream) //
+				.mapToObj(row -> this.names[row]) //
+				.collect(toList());
+	}
+
+	/**
+	 * The rows in the given block that pass every column's range.
+	 */
+	private int[] consistentRows(int block, int[][] columns, int[] mins, int[] maxes) {
+		int from = block * BLOCK_SIZE;
+		int to = Math.min(from + BLOCK_SIZE, this.names.length);
+		int[] candidates = new int[to - from];
+		Arrays.setAll(candidates, i -> from + i);
+		int candidateCount = candidates.length;
+
+		for (int c = 0; c < columns.length && candidateCount > 0; c++) {
+			int[] column = columns[c];
+			int min = mins[c];
+			int max = maxes[c];
+
+			int kept = 0;
+			for (int i = 0; i < candidateCount; i++) {
+				int value = column[candidates[i]];
+				if (value == UNKNOWN || (value >= min && value <= max)) {
+					candidates[kept++] = candidates[i];
+				}
+			}
+			candidateCount = kept;
+		}
+
+		return Arrays.copyOf(candidates, candidateCount);
+	}
+
+	public List<String> consistentWithValues(Map<String, Integer> possessions) {
+		Map<String, Range<Integer>> ranges = new HashMap<>();
+		possessions.forEach((possession, value) -> ranges.put(possession, Range.singleton(value)));
+		return this.consistentWith(ranges);
+	}
+
+	/**
+	 * The smallest int in the range. (If the range holds no ints, this is more than {@link #highest(Range)}.)
+	 */
+	private static int lowest(Range<Integer> range) {
+		if (!range.hasLowerBound()) {
+			return Integer.MIN_VALUE;
+		}
+		long lowest = range.lowerEndpoint() + (range.lowerBoundType() == BoundType.OPEN ? 1L : 0L);
+		return (int) Math.min(lowest, Integer.MAX_VALUE);
+	}
+
+	private static int highest(Range<Integer> range) {
+		if (!range.hasUpperBound()) {
+			return Integer.MAX_VALUE;
+		}
+		long highest = range.upperEndpoint() - (range.upperBoundType() == BoundType.OPEN ? 1L : 0L);
+		return (int) Math.max(highest, Integer.MIN_VALUE);
+	}
+
+}
@@ -2,11 +2,12 @@ package advent.year2015.day17;
 
 import static java.util.stream.Collectors.toList;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.List;
 
+import com.google.common.collect.Streams;
+
+import advent.meta.PuzzleInput;
+
 /**
  * --- Day 17: No Such Thing as Too Much ---
  * The elves bought too much eggnog again - 150 liters this time.  To fit it all into your refrigerator, you'll need to
@@ -33,9 +34,9 @@ import java.util.List;
  * 
  */
 public class EggnogContainers {
-	public static List<Integer> containerSizes() throws IOException {
-		return Files.lines(Paths.get("src/main/java/advent/year2015/day17/input.txt")) //
-				.map(Integer::valueOf) //
+	public static List<Integer> containerSizes() {
+		return Streams.stream(PuzzleInput.forClass(EggnogContainers.class).lineIterator()) //
+				.map(line -> Integer.valueOf(line.toString())) //
 				.collect(toList());
 	}
 
@@ -79,9 +80,10 @@ public class EggnogContainers {
 		return countUsingFirst + countNotUsingFirst;
 	}
 
-	public static void main(String[] args) throws IOException {
+	public static void main(String[] args) {
+		List<Integer> containerSizes = containerSizes();
 		for (int i = 0;; i++) {
-			int countWithI = countStorageSolutions(150, containerSizes(), i);
+			int countWithI = countStorageSolutions(150, containerSizes, i);
 			if (countWithI > 0) {
 				System.out.println(countWithI);
 				return;
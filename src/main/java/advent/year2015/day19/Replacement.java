@@ -18,6 +18,8 @@ import java.util.regex.Pattern;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 
+import advent.utils.Metrics;
+
 /**
  * --- Day 19: Medicine for Rudolph ---
  * Rudolph the Red-Nosed Reindeer is sick!  His nose isn't shining very brightly, and he needs medicine.
@@ -74,6 +76,10 @@ import com.google.common.collect.ImmutableSet;
  */
 public class Replacement {
 
+	private static final Metrics.Counter MOLECULES_EXPANDED = Metrics.global()
+			.counter("replacement.moleculesExpanded");
+	private static final Metrics.Gauge WORKING_SET_SIZE = Metrics.global().gauge("replacement.workingSetSize");
+
 	private String from;
 	private String to;
 
@@ -152,9 +158,10 @@ public class Replacement {
 		int stepsTaken = 0;
 
 		while (!workingSet.contains(desired)) {
+			MOLECULES_EXPANDED.add(workingSet.size());
 			workingSet = allGeneratable(workingSet, replacements);
 			stepsTaken++;
-			System.out.println(stepsTaken + ": " + workingSet.size());
+			WORKING_SET_SIZE.set(workingSet.size());
 		}
 
 		return stepsTaken;
@@ -6,6 +6,8 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import advent.utils.Metrics;
+
 /**
  * --- Day 20: Infinite Elves and Infinite Houses ---
  * To keep the Elves busy, Santa has them deliver some presents by hand, door-to-door.  He sends them down a street
@@ -43,6 +45,8 @@ import java.util.stream.IntStream;
  */
 public class ElfDeliverer {
 
+	private static final Metrics.Counter HOUSES_CHECKED = Metrics.global().counter("elfDeliverer.housesChecked");
+
 	private final int number;
 
 	public ElfDeliverer(int number) {
@@ -78,9 +82,7 @@ public class ElfDeliverer {
 	}
 
 	public static int presentsDeliveredTo(int houseNumber) {
-		if (houseNumber % 1000 == 0) {
-			System.out.println(houseNumber);
-		}
+		HOUSES_CHECKED.increment();
 		return deliveringTo(houseNumber).stream().mapToInt(ElfDeliverer::presentsPerHouse).sum();
 	}
 
@@ -19,6 +19,14 @@ public class Character {
 		return this.hitPoints;
 	}
 
+	public int getArmor() {
+		return this.armor;
+	}
+
+	public int getDamage() {
+		return this.damage;
+	}
+
 	public int damageDealtTo(Character target) {
 		return Math.max(1, this.damage - target.armor);
 	}
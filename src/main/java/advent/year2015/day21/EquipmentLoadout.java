@@ -74,7 +74,7 @@ import com.google.common.collect.ImmutableList;
  */
 public class EquipmentLoadout {
 
-	private static class Item {
+	public static class Item {
 		private final String name;
 		private final int cost;
 		private final int damage;
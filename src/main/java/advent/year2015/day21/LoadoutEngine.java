@@ -0,0 +1,173 @@
+package advent.year2015.day21;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import advent.year2015.day21.EquipmentLoadout.Item;
+
+/**
+ * Answers "cheapest loadout that wins" and "most expensive loadout that loses" for any number of bosses against one
+ * shop catalogue.
+ *
+ * Every loadout (one weapon, at most one armor, at most two rings) is reduced up front to a (cost, damage, armor)
+ * triple. Only damage and armor matter in a fight, so for winning we only need keep loadouts that no other loadout
+ * beats on all three of cost, damage and armor, sorted cheapest first; for losing, likewise with damage and armor
+ * reversed, sorted most expensive first. Each boss then just scans its frontier for the first loadout with the right
+ * outcome, using the same round-counting as {@link Fight#winner()}.
+ */
+public class LoadoutEngine {
+
+	public static final int NONE = -1;
+
+	private final int heroHitPoints;
+
+	private final int[] winningCosts;
+	private final int[] winningDamages;
+	private final int[] winningArmors;
+
+	private final int[] losingCosts;
+	private final int[] losingDamages;
+	private final int[] losingArmors;
+
+	public LoadoutEngine() {
+		this(EquipmentLoadout.WEAPONS, EquipmentLoadout.ARMOR, EquipmentLoadout.RINGS, Character.HERO_HP);
+	}
+
+	public LoadoutEngine(List<Item> weapons, List<Item> armor, List<Item> rings, int heroHitPoints) {
+		this.heroHitPoints = heroHitPoints;
+
+		int[][] loadouts = allLoadouts(weapons, armor, rings);
+
+		int[][] winning = frontier(loadouts, 1);
+		this.winningCosts = winning[0];
+		this.winningDamages = winning[1];
+		this.winningArmors = winning[2];
+
+		int[][] losing = frontier(loadouts, -1);
+		this.losingCosts = losing[0];
+		this.losingDamages = losing[1];
+		this.losingArmors = losing[2];
+	}
+
+	/**
+	 * Returns one {cost, damage, armor} triple per loadout.
+	 */
+	private static int[][] allLoadouts(List<Item> weapons, List<Item> armor, List<Item> rings) {
+		// No armor is represented by a null entry.
+		List<Item> armorOptions = new ArrayList<>();
+		armorOptions.add(null);
+		armorOptions.addAll(armor);
+
+		List<int[]> output = new ArrayList<>();
+		for (Item weapon : weapons) {
+			for (Item chosenArmor : armorOptions) {
+				output.add(total(weapon, chosenArmor));
+				for (int i = 0; i < rings.size(); i++) {
+					output.add(total(weapon, chosenArmor, rings.get(i)));
+					for (int j = i + 1; j < rings.size(); j++) {
+						output.add(total(weapon, chosenArmor, rings.get(i), rings.get(j)));
+					}
+				}
+			}
+		}
+		return output.toArray(new int[0][]);
+	}
+
+	private static int[] total(Item... items) {
+		int[] total = new int[3];
+		for (Item item : items) {
+			if (item != null) {
+				total[0] += item.getCost();
+				total[1] += item.getDamage();
+				total[2] += item.getArmor();
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * For direction 1, the loadouts not beaten by any other on cheaper-or-equal cost and higher-or-equal damage and
+	 * armor, cheapest first. For direction -1, the loadouts not beaten on pricier-or-equal cost and lower-or-equal
+	 * damage and armor, most expensive first. Returns the parallel arrays {costs, damages, armors}.
+	 */
+	private static int[][] frontier(int[][] loadouts, int direction) {
+		int[][] sorted = Arrays.stream(loadouts) //
+				.sorted(Comparator.<int[]> comparingInt(l -> direction * l[0]) //
+						.thenComparingInt(l -> -direction * l[1]) //
+						.thenComparingInt(l -> -direction * l[2])) //
+				.toArray(int[][]::new);
+
+		int[][] kept = new int[sorted.length][];
+		int keptCount = 0;
+		for (int[] candidate : sorted) {
+			boolean dominated = false;
+			for (int k = 0; k < keptCount && !dominated; k++) {
+				dominated = direction * (kept[k][1] - candidate[1]) >= 0 && direction * (kept[k][2] - candidate[2]) >= 0;
+			}
+			if (!dominated) {
+				kept[keptCount++] = candidate;
+			}
+		}
+
+		int[][] output = new int[3][keptCount];
+		for (int k = 0; k < keptCount; k++) {
+			for (int attribute = 0; attribute < 3; attribute++) {
+				output[attribute][k] = kept[k][attribute];
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * The same result as {@link Fight#winner()}, with the hero striking first, without building the characters.
+	 */
+	private boolean heroWins(int damage, int armor, int bossHitPoints, int bossDamage, int bossArmor) {
+		int heroToBoss = Math.max(1, damage - bossArmor);
+		int bossToHero = Math.max(1, bossDamage - armor);
+		return Fight.roundUpDivision(bossHitPoints, heroToBoss) <= Fight.roundUpDivision(this.heroHitPoints, bossToHero);
+	}
+
+	/**
+	 * The cost of the cheapest loadout that defeats the boss, or NONE.
+	 */
+	public int cheapestWinningCost(Character boss) {
+		for (int i = 0; i < this.winningCosts.length; i++) {
+			if (this.heroWins(this.winningDamages[i], this.winningArmors[i], boss.getHitPoints(), boss.getDamage(),
+					boss.getArmor())) {
+				return this.winningCosts[i];
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * The cost of the most expensive loadout that loses to the boss, or NONE.
+	 */
+	public int mostExpensiveLosingCost(Character boss) {
+		for (int i = 0; i < this.losingCosts.length; i++) {
+			if (!this.heroWins(this.losingDamages[i], this.losingArmors[i], boss.getHitPoints(), boss.getDamage(),
+					boss.getArmor())) {
+				return this.losingCosts[i];
+			}
+		}
+		return NONE;
+	}
+
+	public int[] cheapestWinningCosts(List<Character> bosses) {
+		return IntStream.range(0, bosses.size()) //
+				.parallel() //
+				.map(i -> this.cheapestWinningCost(bosses.get(i))) //
+				.toArray();
+	}
+
+	public int[] mostExpensiveLosingCosts(List<Character> bosses) {
+		return IntStream.range(0, bosses.size()) //
+				.parallel() //
+				.map(i -> this.mostExpensiveLosingCost(bosses.get(i))) //
+				.toArray();
+	}
+
+}
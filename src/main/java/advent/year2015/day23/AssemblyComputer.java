@@ -1,45 +1,65 @@
 package advent.year2015.day23;
 
-import java.util.Map;
-import java.util.Objects;
+import static java.util.stream.Collectors.joining;
 
-import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
 
 public class AssemblyComputer {
 
-	private final Map<String, Register> registers;
+	private static final List<String> REGISTER_NAMES = ImmutableList.of("a", "b");
 
-	public AssemblyComputer() {
-		this.registers = ImmutableMap.of( //
-				"a", new Register(), //
-				"b", new Register());
-	}
+	/**
+	 * The register file, indexed by {@link #registerIndex(String)}.
+	 */
+	private final long[] registers = new long[REGISTER_NAMES.size()];
 
 	public static class Register {
-		private int value = 0;
+		private final long[] registers;
+		private final int index;
 
-		public int getValue() {
-			return this.value;
+		private Register(long[] registers, int index) {
+			this.registers = registers;
+			this.index = index;
 		}
 
-		public void setValue(int value) {
-			this.value = value;
+		public long getValue() {
+			return this.registers[this.index];
+		}
+
+		public void setValue(long value) {
+			this.registers[this.index] = value;
 		}
 
 		@Override
 		public String toString() {
-			return String.valueOf(this.value);
+			return String.valueOf(this.getValue());
 		}
 	}
 
 	public Register getRegister(String label) {
-		Register output = this.registers.get(label);
-		return Objects.requireNonNull(output);
+		return new Register(this.registers, registerIndex(label));
+	}
+
+	public static int registerIndex(String label) {
+		int index = REGISTER_NAMES.indexOf(label);
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown register " + label);
+		}
+		return index;
+	}
+
+	long[] registers() {
+		return this.registers;
 	}
 
 	@Override
 	public String toString() {
-		return this.registers.toString();
+		return IntStream.range(0, this.registers.length) //
+				.mapToObj(i -> REGISTER_NAMES.get(i) + "=" + this.registers[i]) //
+				.collect(joining(", ", "{", "}"));
 	}
 
 }
@@ -1,42 +1,77 @@
 package advent.year2015.day23;
 
+import static java.util.stream.Collectors.toList;
+
+import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import org.reflections.Reflections;
 
 public abstract class Instruction {
 
-	public int nextInstructionIndexDelta(AssemblyComputer computer) {
-		return 1;
-	}
+	/**
+	 * Opcodes for {@link #encode()}.
+	 */
+	protected static final int HALF = 0;
+	protected static final int TRIPLE = 1;
+	protected static final int INCREMENT = 2;
+	protected static final int JUMP = 3;
+	protected static final int JUMP_IF_EVEN = 4;
+	protected static final int JUMP_IF_ONE = 5;
 
-	public void updateComputer(AssemblyComputer computer) {
+	/**
+	 * The length of every encoded instruction: the opcode, a register index and an offset. Operands an instruction
+	 * doesn't use are 0.
+	 */
+	static final int ENCODED_LENGTH = 3;
 
-	}
+	/**
+	 * The tryParse methods of the instruction types, found once when the class is loaded rather than for each line.
+	 */
+	private static final List<Method> PARSERS = findParsers();
+
+	/**
+	 * This instruction as ENCODED_LENGTH ints. {@link Program} runs instructions only in this form, so what each opcode
+	 * does is defined there.
+	 */
+	public abstract int[] encode();
 
 	protected static Optional<? extends Instruction> tryParse(String s) {
 		return Optional.empty();
 	}
 
 	public static Instruction fromString(String string) {
-		Reflections reflections = new Reflections("advent.year2015.day23.instructions");
-
-		Set<Class<? extends Instruction>> instructionTypes = reflections.getSubTypesOf(Instruction.class);
-
-		return instructionTypes.stream() //
-				.map(i -> tryParse(i, string)) //
+		return PARSERS.stream() //
+				.map(parser -> tryParse(parser, string)) //
 				.filter(Optional::isPresent) //
 				.map(Optional::get) //
 				.findFirst() //
 				.orElseThrow(() -> new IllegalArgumentException(string));
 	}
 
+	private static List<Method> findParsers() {
+		Reflections reflections = new Reflections("advent.year2015.day23.instructions");
+
+		return reflections.getSubTypesOf(Instruction.class).stream() //
+				.map(Instruction::findParser) //
+				.filter(Optional::isPresent) //
+				.map(Optional::get) //
+				.collect(toList());
+	}
+
+	private static Optional<Method> findParser(Class<?> clazz) {
+		try {
+			return Optional.of(clazz.getMethod("tryParse", String.class));
+		} catch (NoSuchMethodException e) {
+			return Optional.empty();
+		}
+	}
+
 	@SuppressWarnings("unchecked")
-	private static Optional<Instruction> tryParse(Class<?> clazz, String string) {
+	private static Optional<Instruction> tryParse(Method parser, String string) {
 		try {
-			return (Optional<Instruction>) clazz.getMethod("tryParse", String.class) //
-					.invoke(null, string);
+			return (Optional<Instruction>) parser.invoke(null, string);
 		} catch (ReflectiveOperationException | ClassCastException e) {
 			return Optional.empty();
 		}
@@ -7,6 +7,8 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 
+import com.google.common.base.Preconditions;
+
 /**
  * --- Day 23: Opening the Turing Lock ---
  * Little Jane Marie just got her very first computer for Christmas from some unknown benefactor.  It comes with
@@ -43,10 +45,19 @@ import java.util.List;
  */
 public class Program {
 
-	private final List<Instruction> instructions;
+	/**
+	 * The instructions, each encoded as Instruction.ENCODED_LENGTH ints.
+	 */
+	private final int[] code;
+	private final int length;
 
 	Program(List<Instruction> instructions) {
-		this.instructions = instructions;
+		this.length = instructions.size();
+		this.code = new int[this.length * Instruction.ENCODED_LENGTH];
+		for (int i = 0; i < this.length; i++) {
+			int[] encoded = instructions.get(i).encode();
+			System.arraycopy(encoded, 0, this.code, i * Instruction.ENCODED_LENGTH, Instruction.ENCODED_LENGTH);
+		}
 	}
 
 	public AssemblyComputer execute() {
@@ -54,17 +65,93 @@ public class Program {
 	}
 
 	public AssemblyComputer execute(AssemblyComputer computer) {
+		this.execute(computer, Long.MAX_VALUE);
+		return computer;
+	}
+
+	/**
+	 * Runs the program on the computer until it exits, or until it has executed stepBudget instructions.
+	 */
+	public Trace execute(AssemblyComputer computer, long stepBudget) {
+		Preconditions.checkArgument(stepBudget >= 0, "Negative step budget %s", stepBudget);
+
+		long[] registers = computer.registers();
+		long[] executionCounts = new long[this.length];
+		long steps = 0;
 		int index = 0;
 
-		while (0 <= index && index < this.instructions.size()) {
-			Instruction instruction = this.instructions.get(index);
+		while (0 <= index && index < this.length) {
+			if (steps == stepBudget) {
+				return new Trace(false, steps, executionCounts);
+			}
+			steps++;
+			executionCounts[index]++;
+
+			int at = index * Instruction.ENCODED_LENGTH;
+			int register = this.code[at + 1];
+			int offset = this.code[at + 2];
+
+			switch (this.code[at]) {
+			case Instruction.HALF:
+				registers[register] /= 2;
+				index++;
+				break;
+			case Instruction.TRIPLE:
+				registers[register] = Math.multiplyExact(registers[register], 3);
+				index++;
+				break;
+			case Instruction.INCREMENT:
+				registers[register] = Math.incrementExact(registers[register]);
+				index++;
+				break;
+			case Instruction.JUMP:
+				index += offset;
+				break;
+			case Instruction.JUMP_IF_EVEN:
+				index += registers[register] % 2 == 0 ? offset : 1;
+				break;
+			case Instruction.JUMP_IF_ONE:
+				index += registers[register] == 1 ? offset : 1;
+				break;
+			default:
+				throw new IllegalStateException("Bad opcode " + this.code[at]);
+			}
+		}
+
+		return new Trace(true, steps, executionCounts);
+	}
 
-			instruction.updateComputer(computer);
+	/**
+	 * What happened during one run of the program.
+	 */
+	public static class Trace {
+		private final boolean exited;
+		private final long steps;
+		private final long[] executionCounts;
+
+		private Trace(boolean exited, long steps, long[] executionCounts) {
+			this.exited = exited;
+			this.steps = steps;
+			this.executionCounts = executionCounts;
+		}
 
-			index += instruction.nextInstructionIndexDelta(computer);
+		/**
+		 * False if the step budget ran out first.
+		 */
+		public boolean exited() {
+			return this.exited;
 		}
 
-		return computer;
+		public long getSteps() {
+			return this.steps;
+		}
+
+		/**
+		 * How many times the instruction at the given index was executed.
+		 */
+		public long getExecutionCount(int index) {
+			return this.executionCounts[index];
+		}
 	}
 
 	public static Program fromFile() throws IOException {
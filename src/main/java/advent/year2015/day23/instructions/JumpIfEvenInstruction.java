@@ -17,12 +17,8 @@ public class JumpIfEvenInstruction extends Instruction {
 	}
 
 	@Override
-	public int nextInstructionIndexDelta(AssemblyComputer computer) {
-		if (computer.getRegister(this.register).getValue() % 2 == 0) {
-			return this.offset;
-		} else {
-			return super.nextInstructionIndexDelta(computer);
-		}
+	public int[] encode() {
+		return new int[] { JUMP_IF_EVEN, AssemblyComputer.registerIndex(this.register), this.offset };
 	}
 
 	private static Pattern REGEX = Pattern.compile("jie (\\w), ([+-]?\\d+)");
@@ -4,7 +4,6 @@ import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import advent.year2015.day23.AssemblyComputer;
 import advent.year2015.day23.Instruction;
 
 public class JumpInstruction extends Instruction {
@@ -15,8 +14,8 @@ public class JumpInstruction extends Instruction {
 	}
 
 	@Override
-	public int nextInstructionIndexDelta(AssemblyComputer computer) {
-		return this.offset;
+	public int[] encode() {
+		return new int[] { JUMP, 0, this.offset };
 	}
 
 	private static Pattern REGEX = Pattern.compile("jmp ([+-]?\\d+)");
@@ -5,7 +5,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import advent.year2015.day23.AssemblyComputer;
-import advent.year2015.day23.AssemblyComputer.Register;
 import advent.year2015.day23.Instruction;
 
 public class TripleInstruction extends Instruction {
@@ -16,9 +15,8 @@ public class TripleInstruction extends Instruction {
 	}
 
 	@Override
-	public void updateComputer(AssemblyComputer computer) {
-		Register r = computer.getRegister(this.register);
-		r.setValue(r.getValue() * 3);
+	public int[] encode() {
+		return new int[] { TRIPLE, AssemblyComputer.registerIndex(this.register), 0 };
 	}
 
 	private static Pattern REGEX = Pattern.compile("tpl (\\w)");
@@ -1,7 +1,10 @@
 package advent.year2015.day25;
 
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import com.google.common.base.Preconditions;
+
 /**
  * --- Day 25: Let It Snow ---
  * Merry Christmas!  Santa is booting up his weather machine; looks like you might get a white Christmas after all.
@@ -61,12 +64,29 @@ import java.util.stream.Stream;
  */
 public class WeatherMachineCodes {
 
+	private static final long FIRST_CODE = 20151125L;
+	private static final long MULTIPLIER = 252533L;
+	private static final long MODULUS = 33554393L;
+
+	/**
+	 * MULTIPLIER ^ (2 ^ i) mod MODULUS, so that any power can be assembled from the bits of its exponent. Shared by
+	 * every lookup.
+	 */
+	private static final long[] SQUARED_POWERS = new long[Long.SIZE];
+
+	static {
+		SQUARED_POWERS[0] = MULTIPLIER;
+		for (int i = 1; i < SQUARED_POWERS.length; i++) {
+			SQUARED_POWERS[i] = SQUARED_POWERS[i - 1] * SQUARED_POWERS[i - 1] % MODULUS;
+		}
+	}
+
 	/**
 	 * Returns the index for the code at the provided row and column.
 	 *
 	 * Note that these are all 1-indexed: the row, column, and the return value.
 	 */
-	public static int index(int row, int column) {
+	public static long index(long row, long column) {
 		// Looking across the top row, we can see the difference between the
 		// values looks like 2, then 3, then 4, etc.
 		// Likewise in each other row or column. That indicates clearly we are
@@ -110,12 +130,35 @@ public class WeatherMachineCodes {
 	}
 
 	public static Stream<Long> codes() {
-		return Stream.iterate(20151125L, i -> i * 252533 % 33554393);
+		return Stream.iterate(FIRST_CODE, i -> i * MULTIPLIER % MODULUS);
 	}
 
-	public static long code(int row, int column) {
-		int index = index(row, column);
-		return codes().skip(index - 1).findFirst().get();
+	/**
+	 * Each code is the previous one times the multiplier, so the nth code is FIRST_CODE * MULTIPLIER ^ (n - 1) - which
+	 * we can find by modular exponentiation instead of walking the sequence.
+	 */
+	public static long code(long row, long column) {
+		long exponent = index(row, column) - 1;
+		long result = FIRST_CODE;
+		for (int bit = 0; exponent != 0; bit++, exponent >>>= 1) {
+			if ((exponent & 1) != 0) {
+				result = result * SQUARED_POWERS[bit] % MODULUS;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Looks up the codes for many positions at once; the i-th result is for (rows[i], columns[i]).
+	 */
+	public static long[] codes(long[] rows, long[] columns) {
+		Preconditions.checkArgument(rows.length == columns.length, "Got %s rows but %s columns", rows.length,
+				columns.length);
+
+		return IntStream.range(0, rows.length) //
+				.parallel() //
+				.mapToLong(i -> code(rows[i], columns[i])) //
+				.toArray();
 	}
 
-}
\ No newline at end of file
+}
@@ -1,15 +1,13 @@
 package advent.year2015.day3;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.function.Function;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
-import com.google.common.collect.Sets;
-import com.google.common.io.Files;
+import advent.utils.VisitedCells;
 
 /**
  * --- Day 3: Perfectly Spherical Houses in a Vacuum ---
@@ -43,141 +41,98 @@ import com.google.common.io.Files;
  */
 public class SantaTraversal {
 
-	private Coordinate currentLocation;
+	private static final Path INPUT = Paths.get("src/main/java/advent/year2015/day3/input.txt");
 
-	private Set<Coordinate> visited = new HashSet<>();
+	private final VisitedCells visited;
+
+	private int x = 0;
+	private int y = 0;
 
 	public SantaTraversal() {
-		this.currentLocation = new Coordinate(0, 0);
-		this.visited.add(this.currentLocation);
+		this(new VisitedCells());
 	}
 
-	public void traverse(String directions) {
-		directions.chars() //
-				.mapToObj(Direction::byCharacter) //
-				.forEach(this::go);
+	/**
+	 * A traversal that records its houses in a set shared with other traversals.
+	 */
+	private SantaTraversal(VisitedCells visited) {
+		this.visited = visited;
+		this.visited.visit(this.x, this.y);
 	}
 
-	private void go(char character) {
-		this.go(Direction.byCharacter(character));
+	public void traverse(String directions) {
+		for (int i = 0; i < directions.length(); i++) {
+			this.go(directions.charAt(i));
+		}
 	}
 
-	private void go(Direction direction) {
-		this.currentLocation = direction.update.apply(this.currentLocation);
-		this.visited.add(this.currentLocation);
+	private void go(int character) {
+		switch (character) {
+		case '^':
+			this.y++;
+			break;
+		case 'v':
+			this.y--;
+			break;
+		case '<':
+			this.x--;
+			break;
+		case '>':
+			this.x++;
+			break;
+		default:
+			if (Character.isWhitespace(character)) {
+				return;
+			}
+			throw new IllegalArgumentException("Bad direction " + (char) character);
+		}
+		this.visited.visit(this.x, this.y);
 	}
 
 	public int visitedCount() {
 		return this.visited.size();
 	}
 
-	public static void santaVistsHouses() throws IOException {
-		String directions = Files.toString(new File("src/main/java/advent/year2015/day3/input.txt"), StandardCharsets.UTF_8);
-		SantaTraversal traversal = new SantaTraversal();
-		traversal.traverse(directions);
-		System.out.println(traversal.visitedCount());
-	}
-
-	public static void santaAndRoboSantaVisitHouses() throws IOException {
-		String directions = Files.toString(new File("src/main/java/advent/year2015/day3/input.txt"), StandardCharsets.UTF_8);
-
-		SantaTraversal santa = new SantaTraversal();
-		SantaTraversal roboSanta = new SantaTraversal();
-
-		for (int i = 0; i < directions.length(); i++) {
-			char character = directions.charAt(i);
+	/**
+	 * The number of houses visited when the directions are dealt out in turn to some number of Santas, all starting
+	 * at the same house. The directions are streamed from the file, so they need not fit in memory.
+	 */
+	public static int housesVisited(Path directionsFile, int santaCount) throws IOException {
+		VisitedCells visited = new VisitedCells(1 << 16);
+		SantaTraversal[] santas = new SantaTraversal[santaCount];
+		for (int i = 0; i < santaCount; i++) {
+			santas[i] = new SantaTraversal(visited);
+		}
 
-			if (i % 2 == 0) {
-				santa.go(character);
-			} else {
-				roboSanta.go(character);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+		int next = 0;
+		try (FileChannel channel = FileChannel.open(directionsFile, StandardOpenOption.READ)) {
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+					byte character = buffer.get();
+					if (!Character.isWhitespace(character)) {
+						santas[next].go(character);
+						next = (next + 1) % santaCount;
+					}
+				}
+				buffer.clear();
 			}
 		}
 
-		Set<Coordinate> visited = Sets.union(santa.visited, roboSanta.visited);
-
-		System.out.println(visited.size());
+		return visited.size();
 	}
 
-	public static void main(String[] args) throws IOException {
-		santaAndRoboSantaVisitHouses();
+	public static void santaVistsHouses() throws IOException {
+		System.out.println(housesVisited(INPUT, 1));
 	}
 
-	private static enum Direction {
-		UP('^', Coordinate::up), //
-		DOWN('v', Coordinate::down), //
-		LEFT('<', Coordinate::left), //
-		RIGHT('>', Coordinate::right);
-
-		private final char character;
-		private final Function<Coordinate, Coordinate> update;
-
-		private Direction(char character, Function<Coordinate, Coordinate> update) {
-			this.character = character;
-			this.update = update;
-		}
-
-		public static Direction byCharacter(int character) {
-			return Arrays.stream(values()).filter(item -> item.character == character).findAny().get();
-		}
+	public static void santaAndRoboSantaVisitHouses() throws IOException {
+		System.out.println(housesVisited(INPUT, 2));
 	}
 
-	private static class Coordinate {
-		private final int x;
-		private final int y;
-
-		public Coordinate(int x, int y) {
-			super();
-			this.x = x;
-			this.y = y;
-		}
-
-		public Coordinate up() {
-			return new Coordinate(this.x, this.y + 1);
-		}
-
-		public Coordinate down() {
-			return new Coordinate(this.x, this.y - 1);
-		}
-
-		public Coordinate left() {
-			return new Coordinate(this.x - 1, this.y);
-		}
-
-		public Coordinate right() {
-			return new Coordinate(this.x + 1, this.y);
-		}
-
-		@Override
-		public int hashCode() {
-			final int prime = 31;
-			int result = 1;
-			result = prime * result + this.x;
-			result = prime * result + this.y;
-			return result;
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj) {
-				return true;
-			}
-			if (obj == null) {
-				return false;
-			}
-			if (this.getClass() != obj.getClass()) {
-				return false;
-			}
-			Coordinate other = (Coordinate) obj;
-			if (this.x != other.x) {
-				return false;
-			}
-			if (this.y != other.y) {
-				return false;
-			}
-			return true;
-		}
-
+	public static void main(String[] args) throws IOException {
+		santaAndRoboSantaVisitHouses();
 	}
 
-}
\ No newline at end of file
+}
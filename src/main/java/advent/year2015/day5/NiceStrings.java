@@ -1,13 +1,10 @@
 package advent.year2015.day5;
 
-import static java.util.stream.Collectors.toSet;
-
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Set;
 
-import com.google.common.collect.ImmutableSet;
+import advent.utils.ByteLines;
 
 /**
  * --- Day 5: Doesn't He Have Intern-Elves For This? ---
@@ -57,60 +54,91 @@ public class NiceStrings {
 	public static class OriginalRule {
 
 		public static boolean isNice(String input) {
-			return hasThreeVowels(input) && //
-					hasRepeatedLetter(input) && //
-					!hasForbiddenStrings(input);
+			return ByteLines.test(input, OriginalRule::isNice);
 		}
 
-		private static boolean hasThreeVowels(String input) {
-			Set<Integer> vowels = ImmutableSet.of('a', 'e', 'i', 'o', 'u') //
-					.stream() //
-					.map(c -> (int) c) //
-					.collect(toSet());
-
-			return input.chars().filter(vowels::contains).count() >= 3;
-		}
+		/**
+		 * Checks for three vowels, a repeated letter, and none of the forbidden pairs, all in one pass.
+		 */
+		public static boolean isNice(byte[] bytes, int start, int end) {
+			int vowels = 0;
+			boolean repeatedLetter = false;
+
+			for (int i = start; i < end; i++) {
+				byte current = bytes[i];
+				if (current == 'a' || current == 'e' || current == 'i' || current == 'o' || current == 'u') {
+					vowels++;
+				}
 
-		private static boolean hasRepeatedLetter(String input) {
-			for (int i = 0; i < input.length() - 1; i++) {
-				if (input.charAt(i) == input.charAt(i + 1)) {
-					return true;
+				if (i > start) {
+					byte previous = bytes[i - 1];
+					repeatedLetter |= previous == current;
+					if (isForbiddenPair(previous, current)) {
+						return false;
+					}
 				}
 			}
 
-			return false;
+			return vowels >= 3 && repeatedLetter;
 		}
 
-		private static boolean hasForbiddenStrings(String input) {
-			Set<String> forbiddenStrings = ImmutableSet.of("ab", "cd", "pq", "xy");
-			return forbiddenStrings.stream().anyMatch(input::contains);
+		/**
+		 * The forbidden strings are "ab", "cd", "pq", and "xy" - each a letter followed by the next one.
+		 */
+		private static boolean isForbiddenPair(byte first, byte second) {
+			return second == first + 1 && (first == 'a' || first == 'c' || first == 'p' || first == 'x');
 		}
 
 	}
 
 	public static class SecondRule {
+
+		private static final int LETTERS = 26;
+
 		public static boolean isNice(String input) {
-			return hasNonOverlappingPair(input) && hasRepeatWithOneBetween(input);
+			return ByteLines.test(input, SecondRule::isNice);
+		}
+
+		public static boolean isNice(byte[] bytes, int start, int end) {
+			return hasNonOverlappingPair(bytes, start, end) && hasRepeatWithOneBetween(bytes, start, end);
 		}
 
 		public static boolean hasNonOverlappingPair(String input) {
-			for (int i = 0; i < input.length() - 3; i++) {
-				String possiblePair = input.substring(i, i + 2);
+			return ByteLines.test(input, SecondRule::hasNonOverlappingPair);
+		}
 
-				for (int j = i + 2; j < input.length() - 1; j++) {
-					String otherPair = input.substring(j, j + 2);
-					if (possiblePair.equals(otherPair)) {
-						return true;
-					}
+		/**
+		 * Remembers where each two-letter pair was first seen, so a later repeat of it can be checked for overlap in
+		 * the same pass.
+		 */
+		private static boolean hasNonOverlappingPair(byte[] bytes, int start, int end) {
+			// Offset (from start) of the second letter of the first occurrence of each pair; 0 means unseen.
+			int[] firstSeen = new int[LETTERS * LETTERS];
+
+			for (int i = start + 1; i < end; i++) {
+				// The table only covers lowercase letters; a pair with anything else in it is skipped.
+				if (!isLetter(bytes[i - 1]) || !isLetter(bytes[i])) {
+					continue;
+				}
+				int pair = (bytes[i - 1] - 'a') * LETTERS + (bytes[i] - 'a');
+				int offset = i - start;
+				if (firstSeen[pair] == 0) {
+					firstSeen[pair] = offset;
+				} else if (offset - firstSeen[pair] >= 2) {
+					return true;
 				}
 			}
 
 			return false;
 		}
 
-		public static boolean hasRepeatWithOneBetween(String input) {
-			for (int i = 0; i < input.length() - 2; i++) {
-				if (input.charAt(i) == input.charAt(i + 2)) {
+		private static boolean isLetter(byte b) {
+			return b >= 'a' && b <= 'z';
+		}
+
+		private static boolean hasRepeatWithOneBetween(byte[] bytes, int start, int end) {
+			for (int i = start + 2; i < end; i++) {
+				if (bytes[i] == bytes[i - 2]) {
 					return true;
 				}
 			}
@@ -119,16 +147,14 @@ public class NiceStrings {
 		}
 	}
 
+	private static final Path INPUT = Paths.get("src/main/java/advent/year2015/day5/input.txt");
+
 	public static long countOriginalNice() throws IOException {
-		return Files.lines(Paths.get("src/main/java/advent/year2015/day5/input.txt")) //
-				.filter(OriginalRule::isNice) //
-				.count();
+		return ByteLines.count(INPUT, OriginalRule::isNice);
 	}
 
 	public static long countSecondNice() throws IOException {
-		return Files.lines(Paths.get("src/main/java/advent/year2015/day5/input.txt")) //
-				.filter(SecondRule::isNice) //
-				.count();
+		return ByteLines.count(INPUT, SecondRule::isNice);
 	}
 
 	public static void main(String[] args) throws IOException {
@@ -30,7 +30,6 @@ public abstract class Gate {
 	static final Pattern NOT_PATTERN = Pattern.compile("NOT ([a-z]+) -> ([a-z]+)");
 
 	public static Gate of(String instruction) {
-		System.out.println(instruction);
 		Matcher setMatcher = SET_PATTERN.matcher(instruction);
 		if (setMatcher.matches()) {
 			return new SetGate(Integer.valueOf(setMatcher.group(1)), setMatcher.group(2));
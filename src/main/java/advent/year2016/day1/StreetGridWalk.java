@@ -3,12 +3,12 @@ package advent.year2016.day1;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashSet;
 import java.util.Optional;
-import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
 
+import advent.utils.VisitedCells;
+
 /**
  * --- Day 1: No Time for a Taxicab ---
  * Santa's sleigh uses a very high-precision clock to guide its movements, and the clock's oscillator is regulated by
@@ -53,16 +53,16 @@ public class StreetGridWalk {
 	}
 
 	private Direction direction;
-	private Location location;
-	private Set<Location> visited;
+	private int x;
+	private int y;
+	private VisitedCells visited;
 	private Optional<Location> firstVisitedTwice;
 
 	private StreetGridWalk() {
 		this.direction = Direction.NORTH;
-		this.location = new Location();
 
-		this.visited = new HashSet<>();
-		this.visited.add(location);
+		this.visited = new VisitedCells();
+		this.visited.visit(this.x, this.y);
 
 		this.firstVisitedTwice = Optional.empty();
 	}
@@ -78,7 +78,7 @@ public class StreetGridWalk {
 	}
 
 	public Location finalLocation() {
-		return this.location;
+		return new Location(this.x, this.y);
 	}
 
 	public Optional<Location> firstLocationVisitedTwice() {
@@ -98,13 +98,12 @@ public class StreetGridWalk {
 		int steps = Integer.parseInt(instruction.substring(1));
 
 		for (int i = 0; i < steps; i++) {
-			Location nextLocation = new Location(this.location.x + direction.deltaX,
-					this.location.y + direction.deltaY);
-			boolean nextLocationIsNew = this.visited.add(nextLocation);
+			this.x += direction.deltaX;
+			this.y += direction.deltaY;
+			boolean nextLocationIsNew = this.visited.visit(this.x, this.y);
 			if (!nextLocationIsNew && !firstVisitedTwice.isPresent()) {
-				firstVisitedTwice = Optional.of(nextLocation);
+				firstVisitedTwice = Optional.of(new Location(this.x, this.y));
 			}
-			this.location = nextLocation;
 		}
 	}
 
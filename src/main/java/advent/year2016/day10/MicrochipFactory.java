@@ -4,14 +4,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
@@ -57,19 +56,54 @@ import com.google.common.collect.ImmutableSet;
  */
 public class MicrochipFactory {
 
-	private Map<Integer, OutputBin> binsByNumber = new HashMap<>();
-	private Map<Integer, Bot> botsByNumber = new HashMap<>();
+	private static final int EMPTY = -1;
+
+	/**
+	 * Bots are stored column-wise, indexed by bot number. Targets are encoded as the bot number for a bot, or as the
+	 * bitwise complement of the bin number for an output bin.
+	 */
+	private int[] lowChips = new int[0];
+	private int[] highChips = new int[0];
+	private int[] lowTargets = new int[0];
+	private int[] highTargets = new int[0];
+	private boolean[] hasTargets = new boolean[0];
+	private boolean[] hasActed = new boolean[0];
+
+	private OutputBin[] bins = new OutputBin[0];
+
+	/**
+	 * Bots that hold two chips and know where to send them, waiting to act. Each bot only ever enters once.
+	 */
+	private int[] readyBots = new int[16];
+	private int readyHead = 0;
+	private int readyTail = 0;
+
+	private final Map<Long, Integer> botsByComparison = new HashMap<>();
+	private final List<ComparisonListener> listeners = new ArrayList<>();
 
 	private static final Pattern ASSIGN_CHIP_PATTERN = Pattern.compile("value (\\d+) goes to bot (\\d+)");
 	private static final Pattern BOT_INSTRUCTION_PATTERN = Pattern
 			.compile("bot (\\d+) gives low to (\\w+) (\\d+) and high to (\\w+) (\\d+)");
 
+	public MicrochipFactory() {
+		this.addComparisonListener(
+				(botNumber, lowChip, highChip) -> this.botsByComparison.put(comparisonKey(lowChip, highChip), botNumber));
+	}
+
+	/**
+	 * Registers a listener that is told about every comparison as the bot makes it, during the run.
+	 */
+	public void addComparisonListener(ComparisonListener listener) {
+		this.listeners.add(listener);
+	}
+
 	public void addInstruction(String instruction) {
 		Matcher assignMatcher = ASSIGN_CHIP_PATTERN.matcher(instruction);
 		if (assignMatcher.matches()) {
 			int value = Integer.valueOf(assignMatcher.group(1));
 			int botNumber = Integer.valueOf(assignMatcher.group(2));
-			this.getBot(botNumber).addChip(value);
+			this.giveChipToBot(botNumber, value);
+			this.processReadyBots();
 			return;
 		}
 
@@ -79,13 +113,19 @@ public class MicrochipFactory {
 
 			String lowTargetType = botInstructionMatcher.group(2);
 			int lowTargetNumber = Integer.valueOf(botInstructionMatcher.group(3));
-			ChipHolder lowTarget = this.getTarget(lowTargetType, lowTargetNumber);
+			int lowTarget = this.encodeTarget(lowTargetType, lowTargetNumber);
 
 			String highTargetType = botInstructionMatcher.group(4);
 			int highTargetNumber = Integer.valueOf(botInstructionMatcher.group(5));
-			ChipHolder highTarget = this.getTarget(highTargetType, highTargetNumber);
+			int highTarget = this.encodeTarget(highTargetType, highTargetNumber);
 
-			this.getBot(botNumber).addTargets(lowTarget, highTarget);
+			this.ensureBot(botNumber);
+			Preconditions.checkState(!this.hasTargets[botNumber], "Bot %s already has targets", botNumber);
+			this.lowTargets[botNumber] = lowTarget;
+			this.highTargets[botNumber] = highTarget;
+			this.hasTargets[botNumber] = true;
+			this.enqueueIfReady(botNumber);
+			this.processReadyBots();
 
 			return;
 		}
@@ -93,105 +133,141 @@ public class MicrochipFactory {
 		throw new IllegalArgumentException("Unrecognized instruction " + instruction);
 	}
 
-	private ChipHolder getTarget(String targetType, int number) {
+	private int encodeTarget(String targetType, int number) {
 		if (targetType.equals("bot")) {
-			return this.getBot(number);
+			this.ensureBot(number);
+			return number;
 		} else if (targetType.equals("output")) {
-			return this.getBin(number);
+			this.getBin(number);
+			return ~number;
 		} else {
 			throw new IllegalArgumentException("Wrong target type " + targetType);
 		}
 	}
 
 	public OutputBin getBin(int number) {
-		return this.binsByNumber.computeIfAbsent(number, OutputBin::new);
+		if (number >= this.bins.length) {
+			this.bins = Arrays.copyOf(this.bins, Math.max(number + 1, this.bins.length * 2));
+		}
+		if (this.bins[number] == null) {
+			this.bins[number] = new OutputBin(number);
+		}
+		return this.bins[number];
 	}
 
-	private Bot getBot(int number) {
-		return this.botsByNumber.computeIfAbsent(number, Bot::new);
+	private void ensureBot(int number) {
+		if (number < this.lowChips.length) {
+			return;
+		}
+		int oldLength = this.lowChips.length;
+		int newLength = Math.max(number + 1, oldLength * 2);
+		this.lowChips = Arrays.copyOf(this.lowChips, newLength);
+		this.highChips = Arrays.copyOf(this.highChips, newLength);
+		this.lowTargets = Arrays.copyOf(this.lowTargets, newLength);
+		this.highTargets = Arrays.copyOf(this.highTargets, newLength);
+		this.hasTargets = Arrays.copyOf(this.hasTargets, newLength);
+		this.hasActed = Arrays.copyOf(this.hasActed, newLength);
+		Arrays.fill(this.lowChips, oldLength, newLength, EMPTY);
+		Arrays.fill(this.highChips, oldLength, newLength, EMPTY);
 	}
 
-	public int findNumberOfBotWhoHandled(int chipOne, int chipTwo) {
-		Set<Integer> desired = ImmutableSet.of(chipOne, chipTwo);
+	private void giveChipToBot(int botNumber, int chip) {
+		this.ensureBot(botNumber);
+		Preconditions.checkState(!this.hasActed[botNumber] && this.highChips[botNumber] == EMPTY,
+				"Bot %s cannot hold a third chip %s", botNumber, chip);
 
-		return this.botsByNumber.values().stream() //
-				.filter(bot -> bot.chips.equals(desired)) //
-				.findFirst() //
-				.orElseThrow(() -> new NoSuchElementException("No bot handled " + desired)) //
-				.number;
+		if (this.lowChips[botNumber] == EMPTY) {
+			this.lowChips[botNumber] = chip;
+		} else {
+			int other = this.lowChips[botNumber];
+			this.lowChips[botNumber] = Math.min(chip, other);
+			this.highChips[botNumber] = Math.max(chip, other);
+			this.enqueueIfReady(botNumber);
+		}
 	}
 
-	private static interface ChipHolder {
-		public void addChip(int chipNumber);
+	private void giveChip(int target, int chip) {
+		if (target >= 0) {
+			this.giveChipToBot(target, chip);
+		} else {
+			this.bins[~target].addChip(chip);
+		}
 	}
 
-	public static class OutputBin implements ChipHolder {
+	private void enqueueIfReady(int botNumber) {
+		if (this.hasTargets[botNumber] && this.highChips[botNumber] != EMPTY) {
+			if (this.readyTail == this.readyBots.length) {
+				this.readyBots = Arrays.copyOf(this.readyBots, this.readyBots.length * 2);
+			}
+			this.readyBots[this.readyTail++] = botNumber;
+		}
+	}
 
-		private final int number;
-		private Set<Integer> chips = new HashSet<>();
+	/**
+	 * Works through the queue of bots ready to act. Handing off chips may make more bots ready, which join the back of
+	 * the queue - so a long chain of bots is handled iteratively rather than recursively.
+	 */
+	private void processReadyBots() {
+		while (this.readyHead < this.readyTail) {
+			int botNumber = this.readyBots[this.readyHead++];
+			int lowChip = this.lowChips[botNumber];
+			int highChip = this.highChips[botNumber];
+			this.hasActed[botNumber] = true;
+
+			for (ComparisonListener listener : this.listeners) {
+				listener.compared(botNumber, lowChip, highChip);
+			}
 
-		public OutputBin(int number) {
-			this.number = number;
+			this.giveChip(this.lowTargets[botNumber], lowChip);
+			this.giveChip(this.highTargets[botNumber], highChip);
 		}
+		this.readyHead = 0;
+		this.readyTail = 0;
+	}
 
-		@Override
-		public void addChip(int chipNumber) {
-			this.chips.add(chipNumber);
+	public int findNumberOfBotWhoHandled(int chipOne, int chipTwo) {
+		Integer botNumber = this.botsByComparison.get(comparisonKey(Math.min(chipOne, chipTwo), Math.max(chipOne, chipTwo)));
+		if (botNumber == null) {
+			throw new NoSuchElementException("No bot handled " + ImmutableSet.of(chipOne, chipTwo));
 		}
+		return botNumber;
+	}
 
-		public Set<Integer> getChips() {
-			return ImmutableSet.copyOf(this.chips);
-		}
+	private static long comparisonKey(int lowChip, int highChip) {
+		return ((long) lowChip << 32) | highChip;
+	}
 
-		public int getNumber() {
-			return this.number;
-		}
+	@FunctionalInterface
+	public static interface ComparisonListener {
+		public void compared(int botNumber, int lowChip, int highChip);
 	}
 
-	private static class Bot implements ChipHolder {
+	public static class OutputBin {
 
 		private final int number;
-		private TreeSet<Integer> chips = new TreeSet<>();
-		private Optional<Targets> targets = Optional.empty();
+		private int[] chips = new int[1];
+		private int chipCount = 0;
 
-		public Bot(int number) {
+		public OutputBin(int number) {
 			this.number = number;
 		}
 
-		@Override
-		public void addChip(int chipNumber) {
-			this.chips.add(chipNumber);
-			this.attemptAction();
-		}
-
-		public void addTargets(ChipHolder lowTarget, ChipHolder highTarget) {
-			this.targets = Optional.of(new Targets(lowTarget, highTarget));
-			this.attemptAction();
-		}
-
-		private void attemptAction() {
-			Preconditions.checkState(this.chips.size() <= 2);
-
-			if (this.chips.size() == 2) {
-				this.targets.ifPresent(t -> {
-					Iterator<Integer> chipIterator = this.chips.iterator();
-					t.lowTarget.addChip(chipIterator.next());
-					t.highTarget.addChip(chipIterator.next());
-				});
+		private void addChip(int chipNumber) {
+			if (this.chipCount == this.chips.length) {
+				this.chips = Arrays.copyOf(this.chips, this.chips.length * 2);
 			}
+			this.chips[this.chipCount++] = chipNumber;
 		}
 
-		private static class Targets {
-
-			public final ChipHolder lowTarget;
-			public final ChipHolder highTarget;
-
-			public Targets(ChipHolder lowTarget, ChipHolder highTarget) {
-				this.lowTarget = lowTarget;
-				this.highTarget = highTarget;
-			}
+		public Set<Integer> getChips() {
+			return IntStream.range(0, this.chipCount) //
+					.mapToObj(i -> this.chips[i]) //
+					.collect(ImmutableSet.toImmutableSet());
 		}
 
+		public int getNumber() {
+			return this.number;
+		}
 	}
 
 	public static void main(String[] args) throws IOException {
@@ -298,7 +298,7 @@ public class RadioisotopeTestingFacility {
 				.orElseThrow(() -> new NoSuchElementException("No chip for element " + element));
 	}
 
-	private static interface FacilityItem {
+	static interface FacilityItem {
 		public void addTo(Floor floor);
 	}
 
@@ -2,6 +2,8 @@ package advent.year2016.day12;
 
 import com.google.common.base.Preconditions;
 
+import advent.utils.Metrics;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -63,6 +65,9 @@ import static advent.utils.CollectorUtils.toArrayList;
  */
 public class AssembunnyComputer {
 
+    private static final Metrics.Counter INSTRUCTIONS_EXECUTED = Metrics.global()
+            .counter("assembunny.instructionsExecuted");
+
     private Map<String, Long> registers = new HashMap<>();
 
     private List<AssembunnyInstruction> instructions;
@@ -105,8 +110,6 @@ public class AssembunnyComputer {
      */
     public void executeProgram(List<String> program, Predicate<AssembunnyComputer> haltCondition) {
 
-        int stepsTaken = 0;
-
         this.instructions = program.stream() //
                 .map(AssembunnyInstruction::of) //
                 .collect(toArrayList());
@@ -119,15 +122,7 @@ public class AssembunnyComputer {
                 return;
             }
 
-            // Debug output if interested.
-            stepsTaken++;
-            if (stepsTaken % 1000000 == 0) {
-                System.out.println("State " + this.registers);
-                System.out.println("Pointer " + instructionPointer);
-                System.out.println("Executing " + program.get(instructionPointer));
-                System.out.println();
-            }
-
+            INSTRUCTIONS_EXECUTED.increment();
             instructionPointer += instructions.get(instructionPointer).execute(this);
         }
     }
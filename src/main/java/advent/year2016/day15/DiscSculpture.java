@@ -3,13 +3,16 @@ package advent.year2016.day15;
 import static java.util.stream.Collectors.toList;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import com.google.common.base.Preconditions;
@@ -72,22 +75,87 @@ public class DiscSculpture {
 		return new DiscSculpture(Stream.concat(this.discs.stream(), Stream.of(disc)).collect(toList()));
 	}
 
-	public boolean capsulePasses(int dropTime) {
-		return IntStream.range(0, this.discs.size()) //
-				.parallel() //
-				.allMatch(i -> this.discs.get(i).isOpenAt(dropTime + i + 1));
+	public boolean capsulePasses(long dropTime) {
+		for (int i = 0; i < this.discs.size(); i++) {
+			if (!this.discs.get(i).isOpenAt(dropTime + i + 1)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Solves for the first drop time by combining each disc's requirement as a congruence, Chinese Remainder Theorem
+	 * style. Returns empty if there is no time at which the capsule can pass. (With many discs the answer can be far
+	 * beyond a long.)
+	 */
+	public Optional<BigInteger> firstSuccessfulDropTime() {
+		return solve(this.discs.stream());
 	}
 
-	public int firstSuccessfulDropTime() {
-		// Naive implementation - try 'em.
-		// Probably some elegant way we could do this symbolically with linear
-		// algebra / modular arithmetic instead? But the naive implementation
-		// runs fast enough for our problem.
-		return IntStream.iterate(0, i -> i + 1) //
-				.parallel() //
+	/**
+	 * The naive implementation - try every drop time in turn. Retained to verify the symbolic solution.
+	 */
+	public long firstSuccessfulDropTimeByBruteForce() {
+		return LongStream.iterate(0, i -> i + 1) //
 				.filter(this::capsulePasses) //
 				.findFirst() //
-				.getAsInt();
+				.getAsLong();
+	}
+
+	/**
+	 * Solves directly from the disc descriptions, without holding them all in memory. Returns empty if the discs can
+	 * never all line up (which is possible when their position counts share a factor).
+	 */
+	public static Optional<BigInteger> firstSuccessfulDropTime(Stream<String> lines) {
+		return solve(lines.map(Disc::new));
+	}
+
+	private static Optional<BigInteger> solve(Stream<Disc> discs) {
+		Iterator<Disc> iterator = discs.iterator();
+		Congruence combined = Congruence.ANY;
+		for (long depth = 1; iterator.hasNext(); depth++) {
+			Optional<Congruence> next = combined.and(iterator.next().requiredDropTime(depth));
+			if (!next.isPresent()) {
+				return Optional.empty();
+			}
+			combined = next.get();
+		}
+		return Optional.of(combined.remainder);
+	}
+
+	/**
+	 * The set of times t such that t === remainder (mod modulus).
+	 */
+	private static class Congruence {
+
+		private static final Congruence ANY = new Congruence(BigInteger.ZERO, BigInteger.ONE);
+
+		private final BigInteger remainder;
+		private final BigInteger modulus;
+
+		private Congruence(BigInteger remainder, BigInteger modulus) {
+			this.remainder = remainder.mod(modulus);
+			this.modulus = modulus;
+		}
+
+		/**
+		 * The times satisfying both this and the other congruence. The moduli need not be coprime; if they share a
+		 * factor, the remainders have to agree modulo that factor or else there are no such times.
+		 */
+		public Optional<Congruence> and(Congruence other) {
+			BigInteger gcd = this.modulus.gcd(other.modulus);
+			BigInteger difference = other.remainder.subtract(this.remainder);
+			if (difference.mod(gcd).signum() != 0) {
+				return Optional.empty();
+			}
+			BigInteger otherReduced = other.modulus.divide(gcd);
+			BigInteger multiplier = difference.divide(gcd)
+					.multiply(this.modulus.divide(gcd).modInverse(otherReduced))
+					.mod(otherReduced);
+			return Optional.of(new Congruence(this.remainder.add(this.modulus.multiply(multiplier)),
+					this.modulus.multiply(otherReduced)));
+		}
 	}
 
 	private static class Disc {
@@ -110,9 +178,18 @@ public class DiscSculpture {
 			this.initialPosition = initialPosition;
 		}
 
-		public boolean isOpenAt(int time) {
+		public boolean isOpenAt(long time) {
 			return (this.initialPosition + time) % this.positionCount == 0;
 		}
+
+		/**
+		 * The capsule reaches this disc 'depth' seconds after it is dropped, so it passes when
+		 * dropTime === -(initialPosition + depth) (mod positionCount).
+		 */
+		public Congruence requiredDropTime(long depth) {
+			return new Congruence(BigInteger.valueOf(-(this.initialPosition + depth)),
+					BigInteger.valueOf(this.positionCount));
+		}
 	}
 
 	public static void main(String[] args) throws IOException {
@@ -120,11 +197,11 @@ public class DiscSculpture {
 
 		try (Stream<String> lines = Files.lines(inputFilePath)) {
 			DiscSculpture sculpture = new DiscSculpture(lines);
-			System.out.println(sculpture.firstSuccessfulDropTime());
+			System.out.println(sculpture.firstSuccessfulDropTime().get());
 
 			Disc additionalDisc = new Disc(11, 0);
 			DiscSculpture partTwo = sculpture.withAdditionalDisc(additionalDisc);
-			System.out.println(partTwo.firstSuccessfulDropTime());
+			System.out.println(partTwo.firstSuccessfulDropTime().get());
 		}
 	}
 }
\ No newline at end of file
@@ -3,17 +3,24 @@ package advent.year2016.day17;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toSet;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.IntStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.Stream;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 import advent.utils.StreamUtils;
-import advent.year2016.day5.MD5Password;
 
 /**
  * --- Day 17: Two Steps Forward ---
@@ -76,10 +83,37 @@ public class SecureVault {
 	private static final int WIDTH = 4;
 	private static final int HEIGHT = 4;
 
+	/**
+	 * Paths shorter than this are split into separate ForkJoin tasks for each open door when searching for the longest
+	 * path; longer ones are searched depth-first in the same task.
+	 */
+	private static final int FORK_DEPTH = 8;
+
 	private final String passcode;
+	private final int width;
+	private final int height;
+
+	/**
+	 * An MD5 digest that has already been fed the passcode. It is cloned for each room, so that only the path needs to
+	 * be hashed.
+	 */
+	private final MessageDigest seededDigest;
 
 	public SecureVault(String passcode) {
+		this(passcode, WIDTH, HEIGHT);
+	}
+
+	public SecureVault(String passcode, int width, int height) {
+		Preconditions.checkArgument(width > 0 && height > 0, "Bad vault size %sx%s", width, height);
 		this.passcode = passcode;
+		this.width = width;
+		this.height = height;
+		try {
+			this.seededDigest = MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		this.seededDigest.update(passcode.getBytes(StandardCharsets.US_ASCII));
 	}
 
 	public Optional<Path> shortestPathToExit() {
@@ -92,8 +126,23 @@ public class SecureVault {
 				.reduce((l, r) -> r);
 	}
 
+	/**
+	 * Searches depth-first, so that (unlike {@link #longestPathToExit()}) only one path per task is held in memory at
+	 * a time.
+	 */
 	public Optional<Integer> longestPathToExitLength() {
-		return longestPathToExit().map(p -> p.steps.size());
+		return this.longestPathToExitLength(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * The longest path to the exit of at most maxLength steps. On larger vaults, where most rooms have four doors, the
+	 * number of open paths can keep growing rather than dying out, so the search needs a bound.
+	 */
+	public Optional<Integer> longestPathToExitLength(int maxLength) {
+		Preconditions.checkArgument(maxLength >= 0, "Negative maximum length %s", maxLength);
+		int longest = ForkJoinPool.commonPool()
+				.invoke(new LongestPathSearch(this, maxLength, cloneDigest(this.seededDigest), new byte[64], 0, 0, 0));
+		return longest < 0 ? Optional.empty() : Optional.of(longest);
 	}
 
 	private Stream<Path> pathsToExit() {
@@ -108,40 +157,187 @@ public class SecureVault {
 				.collect(toSet());
 	}
 
-	public static class Path {
+	private boolean isExit(int x, int y) {
+		return x == this.width - 1 && y == this.height - 1;
+	}
 
-		private static final List<Direction> DOOR_HASH_ORDER = ImmutableList.of(Direction.U, Direction.D, Direction.L,
-				Direction.R);
+	private boolean isWithinVault(int x, int y) {
+		return x >= 0 && x < this.width && y >= 0 && y < this.height;
+	}
 
-		private final SecureVault vault;
-		private final List<Direction> steps;
+	/**
+	 * The doors that are open after taking the first 'length' steps of the path, as a bitmask indexed by
+	 * {@link Direction#ordinal()}. The digest must have been fed the passcode and nothing since; it is left as it was.
+	 */
+	private static int openDoors(MessageDigest seeded, byte[] path, int length) {
+		MessageDigest digest = cloneDigest(seeded);
+		digest.update(path, 0, length);
+		byte[] hash = digest.digest();
+
+		// The first four hex characters are the doors up, down, left and right; b through f means open.
+		int doors = 0;
+		int[] nibbles = { (hash[0] >> 4) & 0xF, hash[0] & 0xF, (hash[1] >> 4) & 0xF, hash[1] & 0xF };
+		for (int i = 0; i < nibbles.length; i++) {
+			if (nibbles[i] >= 0xB) {
+				doors |= 1 << i;
+			}
+		}
+		return doors;
+	}
 
-		public Path(SecureVault vault) {
-			this(vault, ImmutableList.of());
+	private static MessageDigest cloneDigest(MessageDigest digest) {
+		try {
+			return (MessageDigest) digest.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
 		}
+	}
+
+	/**
+	 * The length of the longest path to the exit that extends the given one, or -1 if there is none.
+	 *
+	 * Each task owns its path buffer and its copy of the seeded digest. Short paths are split into subtasks for each
+	 * open door; past that, the task extends its path in place, keeping a stack of the doors still to try at each
+	 * depth and tracking the current room as it steps forward and back rather than replaying the path.
+	 */
+	private static class LongestPathSearch extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
 
-		private Path(SecureVault vault, List<Direction> steps) {
+		private final SecureVault vault;
+		private final int maxLength;
+		private final MessageDigest seeded;
+		private byte[] path;
+		private final int length;
+		private final int x;
+		private final int y;
+
+		private LongestPathSearch(SecureVault vault, int maxLength, MessageDigest seeded, byte[] path, int length,
+				int x, int y) {
 			this.vault = vault;
-			this.steps = steps;
+			this.maxLength = maxLength;
+			this.seeded = seeded;
+			this.path = path;
+			this.length = length;
+			this.x = x;
+			this.y = y;
 		}
 
-		private int x() {
-			return steps.stream().mapToInt(d -> d.deltaX).sum();
+		@Override
+		protected Integer compute() {
+			// Paths end the first time they reach the exit, so this has to come before handing off to search().
+			if (this.vault.isExit(this.x, this.y)) {
+				return this.length;
+			}
+			if (this.length >= FORK_DEPTH) {
+				return this.search();
+			}
+			if (this.length == this.maxLength) {
+				return -1;
+			}
+
+			List<LongestPathSearch> subtasks = new ArrayList<>();
+			int doors = this.usableDoors(this.openDoors(this.length), this.x, this.y);
+			for (Direction direction : Direction.values()) {
+				if ((doors & (1 << direction.ordinal())) != 0) {
+					byte[] newPath = Arrays.copyOf(this.path, this.path.length);
+					newPath[this.length] = direction.letter;
+					subtasks.add(new LongestPathSearch(this.vault, this.maxLength, cloneDigest(this.seeded), newPath,
+							this.length + 1, this.x + direction.deltaX, this.y + direction.deltaY));
+				}
+			}
+
+			return ForkJoinTask.invokeAll(subtasks).stream() //
+					.mapToInt(LongestPathSearch::join) //
+					.max() //
+					.orElse(-1);
 		}
 
-		private int y() {
-			return steps.stream().mapToInt(d -> d.deltaY).sum();
+		private int search() {
+			int longest = -1;
+			int length = this.length;
+			int x = this.x;
+			int y = this.y;
+
+			// untried[d] is the doors not yet tried after the first d steps, for this task's part of the path onward.
+			int[] untried = new int[this.path.length + 1];
+			untried[length] = this.doorsToTry(length, x, y);
+
+			while (true) {
+				if (untried[length] == 0) {
+					if (length == this.length) {
+						return longest;
+					}
+					// Step back.
+					length--;
+					Direction last = Direction.of(this.path[length]);
+					x -= last.deltaX;
+					y -= last.deltaY;
+					continue;
+				}
+
+				Direction direction = Direction.values()[Integer.numberOfTrailingZeros(untried[length])];
+				untried[length] &= untried[length] - 1;
+
+				if (length == this.path.length) {
+					this.path = Arrays.copyOf(this.path, this.path.length * 2);
+					untried = Arrays.copyOf(untried, this.path.length + 1);
+				}
+				this.path[length] = direction.letter;
+				length++;
+				x += direction.deltaX;
+				y += direction.deltaY;
+
+				if (this.vault.isExit(x, y)) {
+					longest = Math.max(longest, length);
+					untried[length] = 0;
+				} else {
+					untried[length] = this.doorsToTry(length, x, y);
+				}
+			}
 		}
 
-		public boolean isAtExit() {
-			return this.x() == SecureVault.WIDTH - 1 && //
-					this.y() == SecureVault.HEIGHT - 1;
+		private int doorsToTry(int length, int x, int y) {
+			return length == this.maxLength ? 0 : this.usableDoors(this.openDoors(length), x, y);
 		}
 
-		private boolean isWithinVault() {
-			return this.x() >= 0 && //
-					this.x() < SecureVault.WIDTH && //
-					this.y() >= 0 && this.y() < SecureVault.WIDTH;
+		private int openDoors(int length) {
+			return SecureVault.openDoors(this.seeded, this.path, length);
+		}
+
+		/**
+		 * Removes the open doors that lead out of the vault.
+		 */
+		private int usableDoors(int doors, int x, int y) {
+			for (Direction direction : Direction.values()) {
+				if (!this.vault.isWithinVault(x + direction.deltaX, y + direction.deltaY)) {
+					doors &= ~(1 << direction.ordinal());
+				}
+			}
+			return doors;
+		}
+	}
+
+	public static class Path {
+
+		private final SecureVault vault;
+		private final List<Direction> steps;
+		private final int x;
+		private final int y;
+
+		public Path(SecureVault vault) {
+			this(vault, ImmutableList.of(), 0, 0);
+		}
+
+		private Path(SecureVault vault, List<Direction> steps, int x, int y) {
+			this.vault = vault;
+			this.steps = steps;
+			this.x = x;
+			this.y = y;
+		}
+
+		public boolean isAtExit() {
+			return this.vault.isExit(this.x, this.y);
 		}
 
 		public String toString() {
@@ -155,25 +351,13 @@ public class SecureVault {
 				return Stream.empty();
 			}
 
-			return legalDirections() //
-					.map(this::moving) //
-					.filter(Path::isWithinVault);
-		}
-
-		private Stream<Direction> legalDirections() {
-			String doorString = doorString();
+			int doors = openDoors(this.vault.seededDigest, this.toString().getBytes(StandardCharsets.US_ASCII),
+					this.steps.size());
 
-			return IntStream.range(0, DOOR_HASH_ORDER.size()) //
-					.filter(i -> doorIsOpen(doorString.charAt(i))) //
-					.mapToObj(DOOR_HASH_ORDER::get);
-		}
-
-		private String doorString() {
-			return MD5Password.hexMD5Hash(vault.passcode + this.toString());
-		}
-
-		private boolean doorIsOpen(char c) {
-			return c == 'b' || c == 'c' || c == 'd' || c == 'e' || c == 'f';
+			return Arrays.stream(Direction.values()) //
+					.filter(direction -> (doors & (1 << direction.ordinal())) != 0) //
+					.filter(direction -> this.vault.isWithinVault(this.x + direction.deltaX, this.y + direction.deltaY)) //
+					.map(this::moving);
 		}
 
 		private Path moving(Direction direction) {
@@ -182,10 +366,13 @@ public class SecureVault {
 					.add(direction) //
 					.build();
 
-			return new Path(vault, newSteps);
+			return new Path(vault, newSteps, this.x + direction.deltaX, this.y + direction.deltaY);
 		}
 	}
 
+	/**
+	 * In the order that the doors appear in the hash.
+	 */
 	private static enum Direction {
 		U(0, -1), //
 		D(0, 1), //
@@ -195,10 +382,27 @@ public class SecureVault {
 		// By convention these are both positive towards the goal.
 		private final int deltaX;
 		private final int deltaY;
+		private final byte letter;
 
 		private Direction(int deltaX, int deltaY) {
 			this.deltaX = deltaX;
 			this.deltaY = deltaY;
+			this.letter = (byte) this.name().charAt(0);
+		}
+
+		private static Direction of(byte letter) {
+			switch (letter) {
+			case 'U':
+				return U;
+			case 'D':
+				return D;
+			case 'L':
+				return L;
+			case 'R':
+				return R;
+			default:
+				throw new IllegalArgumentException("Bad direction " + (char) letter);
+			}
 		}
 	}
 
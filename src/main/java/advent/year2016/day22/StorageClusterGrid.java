@@ -1,5 +1,6 @@
 package advent.year2016.day22;
 
+import static advent.utils.CollectorUtils.toIntArray;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
@@ -8,6 +9,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -169,10 +171,38 @@ public class StorageClusterGrid {
 	 * The number of pairs of nodes that *could* be used as a source and target,
 	 * if they were adjacent.
 	 * 
+	 * Rather than trying every pair, each source counts the targets with
+	 * enough room by binary search among the sorted available sizes.
+	 * 
 	 * @return
 	 */
 	public long validPairCount() {
-		return allMovablePairs().count();
+		int[] available = nodes.values().stream().collect(toIntArray(node -> node.availableTerabytes));
+		Arrays.sort(available);
+
+		return nodes.values().stream() //
+				.filter(source -> source.usedTerabytes != 0) //
+				.mapToLong(source -> countAtLeast(available, source.usedTerabytes)
+						// A node can't move data to itself.
+						- (source.availableTerabytes >= source.usedTerabytes ? 1 : 0)) //
+				.sum();
+	}
+
+	/**
+	 * The number of values in the sorted array that are at least the minimum.
+	 */
+	private static int countAtLeast(int[] sorted, int minimum) {
+		int low = 0;
+		int high = sorted.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sorted[middle] < minimum) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return sorted.length - low;
 	}
 
 	// All fully legal moves: movable and adjacent.
@@ -210,11 +240,6 @@ public class StorageClusterGrid {
 				target.availableTerabytes >= source.usedTerabytes;
 	}
 
-	// All pairs of nodes (including self to self).
-	private Stream<Pair<Node, Node>> allPairs() {
-		return nodes.values().stream().flatMap(this::pairs);
-	}
-
 	Stream<Pair<Node, Node>> adjacentPairs() {
 		int maxX = max(nodes.values(), Position::getX);
 		int maxY = max(nodes.values(), Position::getY);
@@ -241,17 +266,6 @@ public class StorageClusterGrid {
 				.map(Optional::get);
 	}
 
-	private Stream<Pair<Node, Node>> pairs(Node source) {
-		return nodes.values().stream() //
-				.map(target -> Pair.of(source, target));
-	}
-
-	// All pairs that are theoretically movable (regardless of adjacency).
-	private Stream<Pair<Node, Node>> allMovablePairs() {
-		return allPairs() //
-				.filter(p -> this.isMovable(p.getFirst(), p.getSecond()));
-	}
-
 	public Optional<Node> get(Position position) {
 		return Optional.ofNullable(nodes.get(position));
 	}
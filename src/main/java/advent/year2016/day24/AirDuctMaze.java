@@ -17,7 +17,9 @@ import java.util.stream.IntStream;
 
 import com.google.common.collect.Collections2;
 
-import advent.utils.Pair;
+import advent.utils.IntPair;
+import advent.utils.LongIntMap;
+import advent.utils.Metrics;
 import advent.year2016.day13.Maze;
 
 /**
@@ -59,13 +61,16 @@ import advent.year2016.day13.Maze;
  */
 public class AirDuctMaze extends Maze {
 
+	private static final Metrics.Counter CACHE_LOOKUPS = Metrics.global().counter("airDuctMaze.distanceCache.lookups");
+	private static final Metrics.Counter CACHE_MISSES = Metrics.global().counter("airDuctMaze.distanceCache.misses");
+
 	// True if open, false if closed.
 	private List<List<Boolean>> spaces = new ArrayList<>();
 	private Map<Integer, Address> pointsOfInterest = new HashMap<>();
 
 	// Cached distances between points of interest - keys are a (from ID, to ID)
 	// pair; values are the # of steps.
-	private Map<Pair<Integer, Integer>, Integer> cachedDistances = new HashMap<>();
+	private LongIntMap cachedDistances = new LongIntMap();
 
 	public AirDuctMaze(List<String> rows) {
 
@@ -155,9 +160,13 @@ public class AirDuctMaze extends Maze {
 	 * this distance has previously been calculated.
 	 */
 	private int loadDistance(int pointFrom, int pointTo) {
-		Pair<Integer, Integer> key = Pair.of(pointFrom, pointTo);
+		long key = IntPair.of(pointFrom, pointTo);
 
-		return cachedDistances.computeIfAbsent(key, pair -> this.calculateDistance(pair.getFirst(), pair.getSecond()));
+		CACHE_LOOKUPS.increment();
+		return cachedDistances.computeIfAbsent(key, pair -> {
+			CACHE_MISSES.increment();
+			return this.calculateDistance(IntPair.first(pair), IntPair.second(pair));
+		});
 	}
 
 	/**
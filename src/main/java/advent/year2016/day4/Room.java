@@ -1,23 +1,15 @@
 package advent.year2016.day4;
 
-import static java.util.Comparator.comparing;
-import static java.util.Comparator.naturalOrder;
-import static java.util.stream.Collectors.counting;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.joining;
-
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.Map;
-import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
+import advent.utils.ByteLines;
+
 /**
  * --- Day 4: Security Through Obscurity ---
  * Finally, you come across an information kiosk with a list of rooms.  Of course, the list is encrypted and full of
@@ -51,11 +43,12 @@ import java.util.stream.Stream;
 public class Room {
 
 	private static final Pattern ROOM_PATTERN = Pattern.compile("(.*)-(\\d+)\\[(.*)\\]");
-	private static final Pattern LETTER_PATTERN = Pattern.compile("[a-zA-Z]");
+	private static final int LETTERS = 26;
+	private static final int CHECKSUM_LENGTH = 5;
 
+	private final String representation;
 	private final String encryptedName;
 	private final int sectorId;
-	private final String checksum;
 
 	public Room(String stringRep) {
 		Matcher matcher = ROOM_PATTERN.matcher(stringRep);
@@ -63,28 +56,86 @@ public class Room {
 			throw new IllegalArgumentException("Bad room " + stringRep);
 		}
 
+		this.representation = stringRep;
 		this.encryptedName = matcher.group(1);
 		this.sectorId = Integer.valueOf(matcher.group(2));
-		this.checksum = matcher.group(3);
 	}
 
 	public boolean isReal() {
-		Map<String, Long> characterFrequency = Arrays.stream(this.encryptedName.split("")) //
-				.filter(character -> LETTER_PATTERN.matcher(character).matches()) //
-				.collect(groupingBy(Function.identity(), counting()));
-
-		Comparator<String> lowestFrequencyFirst = comparing(characterFrequency::get);
-		Comparator<String> checksumOrdering = lowestFrequencyFirst //
-				.reversed() //
-				.thenComparing(naturalOrder());
-
-		String expectedChecksum = characterFrequency.keySet() //
-				.stream() //
-				.sorted(checksumOrdering) //
-				.limit(5) //
-				.collect(joining(""));
-
-		return expectedChecksum.equals(this.checksum);
+		return ByteLines.test(this.representation, Room::isReal);
+	}
+
+	/**
+	 * Checks a room straight from its "name-sector[checksum]" representation: one pass counts the name's letters into
+	 * a 26-slot table, and then the five most common are picked out in turn and compared to the checksum.
+	 */
+	public static boolean isReal(byte[] bytes, int start, int end) {
+		int checksumStart = lastIndexOf(bytes, start, end, (byte) '[') + 1;
+		int nameEnd = lastIndexOf(bytes, start, checksumStart, (byte) '-');
+		if (checksumStart == 0 || nameEnd < 0 || bytes[end - 1] != ']') {
+			throw new IllegalArgumentException("Bad room " + new String(bytes, start, end - start));
+		}
+
+		int[] counts = new int[LETTERS];
+		for (int i = start; i < nameEnd; i++) {
+			if (bytes[i] >= 'a' && bytes[i] <= 'z') {
+				counts[bytes[i] - 'a']++;
+			}
+		}
+
+		int checksumEnd = end - 1;
+		for (int i = checksumStart; i <= checksumEnd; i++) {
+			int mostCommon = mostCommonLetter(counts);
+			boolean checksumOver = i == checksumEnd;
+			boolean lettersOver = mostCommon < 0 || i - checksumStart == CHECKSUM_LENGTH;
+			if (checksumOver || lettersOver) {
+				return checksumOver && lettersOver;
+			}
+			if (bytes[i] != 'a' + mostCommon) {
+				return false;
+			}
+			counts[mostCommon] = 0;
+		}
+
+		return false;
+	}
+
+	/**
+	 * The sector ID if the room is real, otherwise 0 - for summing over a file of rooms.
+	 */
+	public static long realSectorId(byte[] bytes, int start, int end) {
+		if (!isReal(bytes, start, end)) {
+			return 0;
+		}
+
+		int checksumStart = lastIndexOf(bytes, start, end, (byte) '[');
+		int sectorId = 0;
+		for (int i = lastIndexOf(bytes, start, checksumStart, (byte) '-') + 1; i < checksumStart; i++) {
+			sectorId = sectorId * 10 + (bytes[i] - '0');
+		}
+		return sectorId;
+	}
+
+	/**
+	 * The letter with the highest (nonzero) count, the alphabetically first on ties, or -1 if all counts are zero.
+	 */
+	private static int mostCommonLetter(int[] counts) {
+		int best = -1;
+		for (int letter = 0; letter < counts.length; letter++) {
+			if (counts[letter] > 0 && (best < 0 || counts[letter] > counts[best])) {
+				best = letter;
+			}
+		}
+		return best;
+	}
+
+	private static int lastIndexOf(byte[] bytes, int start, int end, byte target) {
+		for (int i = end - 1; i >= start; i--) {
+			if (bytes[i] == target) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	public String decryptedName() {
@@ -114,14 +165,7 @@ public class Room {
 	public static void main(String[] args) throws IOException {
 		Path inputFilePath = Paths.get("src/main/java/advent/year2016/day4/input.txt");
 
-		try (Stream<String> lines = Files.lines(inputFilePath)) {
-			long sectorIdSum = lines //
-					.map(Room::new) //
-					.filter(Room::isReal) //
-					.mapToInt(room -> room.sectorId) //
-					.sum();
-			System.out.println(sectorIdSum);
-		}
+		System.out.println(ByteLines.sum(inputFilePath, Room::realSectorId));
 
 		try (Stream<String> lines = Files.lines(inputFilePath)) {
 			lines //
@@ -1,20 +1,15 @@
 package advent.year2016.day6;
 
-import static java.util.Comparator.comparing;
-
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.Arrays;
 import java.util.stream.Collector;
 import java.util.stream.Collector.Characteristics;
-import java.util.stream.Stream;
+
+import com.google.common.base.Preconditions;
+
+import advent.utils.ByteLines;
 
 /**
  * --- Day 6: Signals and Noise ---
@@ -60,83 +55,114 @@ import java.util.stream.Stream;
 public class ErrorCorrection {
 
 	public static Collector<String, ?, String> correctingErrorsByMostCommon() {
-		return Collector.of(PartialErrorCorrectionResult::byMostCommon, //
-				PartialErrorCorrectionResult::add, //
-				PartialErrorCorrectionResult::merge, //
-				PartialErrorCorrectionResult::result, //
+		return Collector.of(ColumnHistogram::new, //
+				ColumnHistogram::add, //
+				ColumnHistogram::merge, //
+				ColumnHistogram::mostCommon, //
 				Characteristics.UNORDERED);
 	}
 
 	public static Collector<String, ?, String> correctingErrorsByLeastCommon() {
-		return Collector.of(PartialErrorCorrectionResult::byLeastCommon, //
-				PartialErrorCorrectionResult::add, //
-				PartialErrorCorrectionResult::merge, //
-				PartialErrorCorrectionResult::result, //
+		return Collector.of(ColumnHistogram::new, //
+				ColumnHistogram::add, //
+				ColumnHistogram::merge, //
+				ColumnHistogram::leastCommon, //
 				Characteristics.UNORDERED);
 	}
 
-	private static class PartialErrorCorrectionResult {
-
-		private List<Map<Character, Integer>> characterFrequencies;
+	/**
+	 * Corrects a whole file of samples, reading it in parallel chunks, without making a String per sample.
+	 */
+	public static String correctByMostCommon(Path samples) throws IOException {
+		return histogramOf(samples).mostCommon();
+	}
 
-		/**
-		 * The order used to sort characters by frequency - the character that
-		 * this comparator sorts to the front will be used as the 'correct'
-		 * character.
-		 */
-		private final Comparator<Integer> ascendingFrequencyOrder;
+	public static String correctByLeastCommon(Path samples) throws IOException {
+		return histogramOf(samples).leastCommon();
+	}
 
-		private PartialErrorCorrectionResult(Comparator<Integer> ascendingFrequencyOrder) {
-			this.characterFrequencies = new ArrayList<>();
-			this.ascendingFrequencyOrder = ascendingFrequencyOrder;
-		}
+	private static ColumnHistogram histogramOf(Path samples) throws IOException {
+		return ByteLines.collect(samples, ColumnHistogram::new, ColumnHistogram::add, ColumnHistogram::merge);
+	}
 
-		public static PartialErrorCorrectionResult byMostCommon() {
-			return new PartialErrorCorrectionResult(Comparator.reverseOrder());
-		}
+	/**
+	 * How many times each character has been seen in each column - counts[column][character]. Samples may be of any
+	 * width; partial results are merged by adding the counts.
+	 */
+	private static class ColumnHistogram {
 
-		public static PartialErrorCorrectionResult byLeastCommon() {
-			return new PartialErrorCorrectionResult(Comparator.naturalOrder());
-		}
+		private static final int ALPHABET_SIZE = 256;
 
-		public String result() {
-			return this.characterFrequencies.stream() //
-					.map(this::resultingCharacter) //
-					.filter(Optional::isPresent) //
-					.map(Optional::get) //
-					.collect(StringBuilder::new, StringBuilder::append, StringBuilder::append) //
-					.toString();
-		}
+		private int[][] counts = new int[0][];
 
 		public void add(String sample) {
-			while (this.characterFrequencies.size() < sample.length()) {
-				this.characterFrequencies.add(new HashMap<>());
-			}
+			this.ensureWidth(sample.length());
 
 			for (int i = 0; i < sample.length(); i++) {
-				this.characterFrequencies.get(i).merge(sample.charAt(i), 1, Integer::sum);
+				char character = sample.charAt(i);
+				Preconditions.checkArgument(character < ALPHABET_SIZE, "Unsupported character %s", character);
+				this.counts[i][character]++;
 			}
 		}
 
-		public PartialErrorCorrectionResult merge(PartialErrorCorrectionResult other) {
-			if (this.characterFrequencies.size() != other.characterFrequencies.size()) {
-				throw new IllegalArgumentException("Shouldn't be merging results with different string lengths");
+		public void add(byte[] bytes, int start, int end) {
+			this.ensureWidth(end - start);
+
+			for (int i = start; i < end; i++) {
+				this.counts[i - start][bytes[i] & 0xFF]++;
 			}
+		}
+
+		public ColumnHistogram merge(ColumnHistogram other) {
+			this.ensureWidth(other.counts.length);
 
-			for (int i = 0; i < this.characterFrequencies.size(); i++) {
-				for (Map.Entry<Character, Integer> entry : other.characterFrequencies.get(i).entrySet()) {
-					this.characterFrequencies.get(i).merge(entry.getKey(), entry.getValue(), Integer::sum);
+			for (int column = 0; column < other.counts.length; column++) {
+				int[] mine = this.counts[column];
+				int[] theirs = other.counts[column];
+				for (int character = 0; character < ALPHABET_SIZE; character++) {
+					mine[character] += theirs[character];
 				}
 			}
 
 			return this;
 		}
 
-		private Optional<Character> resultingCharacter(Map<Character, Integer> frequencies) {
-			Comparator<Character> resultingCharacterFirst = comparing(frequencies::get, this.ascendingFrequencyOrder);
-			return frequencies.keySet().stream() //
-					.sorted(resultingCharacterFirst) //
-					.findFirst();
+		private void ensureWidth(int width) {
+			if (width > this.counts.length) {
+				int oldWidth = this.counts.length;
+				this.counts = Arrays.copyOf(this.counts, width);
+				for (int column = oldWidth; column < width; column++) {
+					this.counts[column] = new int[ALPHABET_SIZE];
+				}
+			}
+		}
+
+		public String mostCommon() {
+			return this.result(1);
+		}
+
+		public String leastCommon() {
+			return this.result(-1);
+		}
+
+		/**
+		 * Picks the seen character in each column whose count, multiplied by the sign, is largest (the earliest
+		 * character on ties).
+		 */
+		private String result(int sign) {
+			StringBuilder output = new StringBuilder(this.counts.length);
+			for (int[] column : this.counts) {
+				int best = -1;
+				for (int character = 0; character < ALPHABET_SIZE; character++) {
+					if (column[character] > 0 && (best < 0 || sign * column[character] > sign * column[best])) {
+						best = character;
+					}
+				}
+				if (best >= 0) {
+					output.append((char) best);
+				}
+			}
+			return output.toString();
 		}
 
 	}
@@ -144,13 +170,8 @@ public class ErrorCorrection {
 	public static void main(String[] args) throws IOException {
 		Path inputFilePath = Paths.get("src/main/java/advent/year2016/day6/input.txt");
 
-		try (Stream<String> lines = Files.lines(inputFilePath)) {
-			System.out.println(lines.collect(correctingErrorsByMostCommon()));
-		}
-
-		try (Stream<String> lines = Files.lines(inputFilePath)) {
-			System.out.println(lines.collect(correctingErrorsByLeastCommon()));
-		}
+		System.out.println(correctByMostCommon(inputFilePath));
+		System.out.println(correctByLeastCommon(inputFilePath));
 	}
 
 }
\ No newline at end of file
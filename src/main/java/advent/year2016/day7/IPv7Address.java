@@ -1,18 +1,12 @@
 package advent.year2016.day7;
 
-import static advent.year2016.day7.OddsAndEvens.toOddsAndEvens;
-
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Preconditions;
+
+import advent.utils.ByteLines;
 
 /**
  * --- Day 7: Internet Protocol Version 7 ---
@@ -52,33 +46,79 @@ import com.google.common.base.Preconditions;
  */
 public class IPv7Address {
 
-	private final List<String> supernetSequences;
-	private final List<String> hypernetSequences;
+	private static final int LETTERS = 26;
 
-	public IPv7Address(String representation) {
-		// We'll assume that the brackets are well-balanced and split around
-		// them.
-		OddsAndEvens<String> groups = Arrays.stream(representation.split("[\\[\\]]")) //
-				.collect(toOddsAndEvens());
+	private final String representation;
 
-		this.supernetSequences = groups.getEvens();
-		this.hypernetSequences = groups.getOdds();
+	public IPv7Address(String representation) {
+		this.representation = representation;
 	}
 
 	public boolean supportsTLS() {
-		return this.supernetSequences.stream().anyMatch(IPv7Address::containsAbba)
-				&& !this.hypernetSequences.stream().anyMatch(IPv7Address::containsAbba);
+		return ByteLines.test(this.representation, IPv7Address::supportsTLS);
 	}
 
 	public boolean supportsSSL() {
-		return this.supernetSequences.stream() //
-				.flatMap(IPv7Address::allAbas) //
-				.map(IPv7Address::abaToBab) //
-				.anyMatch(this::anyHypernetSequenceContains);
+		return ByteLines.test(this.representation, IPv7Address::supportsSSL);
 	}
 
-	private boolean anyHypernetSequenceContains(String input) {
-		return this.hypernetSequences.stream().anyMatch(seq -> seq.contains(input));
+	/**
+	 * One pass over the address, tracking whether we are inside brackets, looking for an ABBA ending at each letter.
+	 */
+	public static boolean supportsTLS(byte[] bytes, int start, int end) {
+		int bracketDepth = 0;
+		boolean supernetAbba = false;
+
+		for (int i = start; i < end; i++) {
+			if (bytes[i] == '[') {
+				bracketDepth++;
+			} else if (bytes[i] == ']') {
+				bracketDepth--;
+			} else if (i - start >= 3 && isAbba(bytes, i - 3)) {
+				if (bracketDepth > 0) {
+					return false;
+				}
+				supernetAbba = true;
+			}
+		}
+
+		return supernetAbba;
+	}
+
+	/**
+	 * One pass over the address. Each ABA found outside brackets is recorded by its (outer, inner) letters, and each
+	 * BAB inside brackets by its (inner, outer) letters, so a matching pair shows up as the same entry in both tables.
+	 */
+	public static boolean supportsSSL(byte[] bytes, int start, int end) {
+		boolean[] supernetAbas = new boolean[LETTERS * LETTERS];
+		boolean[] hypernetBabs = new boolean[LETTERS * LETTERS];
+		int bracketDepth = 0;
+
+		for (int i = start; i < end; i++) {
+			if (bytes[i] == '[') {
+				bracketDepth++;
+			} else if (bytes[i] == ']') {
+				bracketDepth--;
+			} else if (i - start >= 2 && isAba(bytes, i - 2)) {
+				int outer = bytes[i] - 'a';
+				int inner = bytes[i - 1] - 'a';
+				if (bracketDepth > 0) {
+					int key = inner * LETTERS + outer;
+					if (supernetAbas[key]) {
+						return true;
+					}
+					hypernetBabs[key] = true;
+				} else {
+					int key = outer * LETTERS + inner;
+					if (hypernetBabs[key]) {
+						return true;
+					}
+					supernetAbas[key] = true;
+				}
+			}
+		}
+
+		return false;
 	}
 
 	/**
@@ -86,59 +126,45 @@ public class IPv7Address {
 	 */
 	@VisibleForTesting
 	static boolean isAbba(String input) {
-		return input.length() == 4 && //
-				input.charAt(0) != input.charAt(1) && //
-				input.charAt(0) == input.charAt(3) && //
-				input.charAt(1) == input.charAt(2);
+		return input.length() == 4 && ByteLines.test(input, (bytes, start, end) -> isAbba(bytes, start));
 	}
 
 	@VisibleForTesting
 	static boolean containsAbba(String input) {
-		return IntStream.range(0, input.length() - 4 + 1) //
-				.mapToObj(i -> input.substring(i, i + 4)) //
-				.anyMatch(IPv7Address::isAbba);
+		return ByteLines.test(input, IPv7Address::containsAbba);
 	}
 
-	private static boolean isAba(String input) {
-		return input.length() == 3 && //
-				input.charAt(0) != input.charAt(1) && //
-				input.charAt(0) == input.charAt(2);
+	private static boolean containsAbba(byte[] bytes, int start, int end) {
+		for (int i = start; i + 4 <= end; i++) {
+			if (isAbba(bytes, i)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
-	private static String abaToBab(String aba) {
-		Preconditions.checkArgument(isAba(aba));
+	private static boolean isAbba(byte[] bytes, int at) {
+		return bytes[at] != bytes[at + 1] && //
+				bytes[at] == bytes[at + 3] && //
+				bytes[at + 1] == bytes[at + 2] && //
+				isLetter(bytes[at]) && isLetter(bytes[at + 1]);
+	}
 
-		return new StringBuilder() //
-				.append(aba.charAt(1)) //
-				.append(aba.charAt(0)) //
-				.append(aba.charAt(1)) //
-				.toString();
+	private static boolean isAba(byte[] bytes, int at) {
+		return bytes[at] != bytes[at + 1] && //
+				bytes[at] == bytes[at + 2] && //
+				isLetter(bytes[at]) && isLetter(bytes[at + 1]);
 	}
 
-	private static Stream<String> allAbas(String input) {
-		return IntStream.range(0, input.length() - 3 + 1) //
-				.mapToObj(i -> input.substring(i, i + 3)) //
-				.filter(IPv7Address::isAba);
+	private static boolean isLetter(byte b) {
+		return b >= 'a' && b <= 'z';
 	}
 
 	public static void main(String[] args) throws IOException {
 		Path inputFilePath = Paths.get("src/main/java/advent/year2016/day7/input.txt");
 
-		try (Stream<String> lines = Files.lines(inputFilePath)) {
-			long supportsTLSCount = lines //
-					.map(IPv7Address::new) //
-					.filter(IPv7Address::supportsTLS) //
-					.count();
-			System.out.println(supportsTLSCount);
-		}
-
-		try (Stream<String> lines = Files.lines(inputFilePath)) {
-			long supportsSSLCount = lines //
-					.map(IPv7Address::new) //
-					.filter(IPv7Address::supportsSSL) //
-					.count();
-			System.out.println(supportsSSLCount);
-		}
+		System.out.println(ByteLines.count(inputFilePath, IPv7Address::supportsTLS));
+		System.out.println(ByteLines.count(inputFilePath, IPv7Address::supportsSSL));
 	}
 
 }
\ No newline at end of file
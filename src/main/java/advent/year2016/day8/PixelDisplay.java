@@ -1,18 +1,12 @@
 package advent.year2016.day8;
 
-import static advent.utils.CollectorUtils.toArrayList;
-import static java.util.stream.Collectors.joining;
-
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.google.common.base.Preconditions;
@@ -65,45 +59,55 @@ import com.google.common.base.Preconditions;
  */
 public class PixelDisplay {
 
-	private List<List<Boolean>> pixels;
-
 	private static final int WIDTH = 50;
 	private static final int HEIGHT = 6;
 
+	private final int width;
+	private final int height;
+
+	/**
+	 * Each row is a bitset of its pixels. Rotating a row just adjusts its offset: the pixel displayed at x is stored at
+	 * physical position (x - offset) mod width.
+	 */
+	private final long[][] rows;
+	private final int[] rowOffsets;
+
+	private final boolean[] columnBuffer;
+
 	public PixelDisplay() {
 		this(WIDTH, HEIGHT);
 	}
 
 	public PixelDisplay(int width, int height) {
-		this.pixels = IntStream.range(0, height) //
-				.mapToObj(any -> this.newRow(width)) //
-				.collect(toArrayList());
-	}
-
-	private List<Boolean> newRow(int width) {
-		return IntStream.range(0, width) //
-				.mapToObj(any -> false) //
-				.collect(toArrayList());
+		this.width = width;
+		this.height = height;
+		this.rows = new long[height][(width + Long.SIZE - 1) / Long.SIZE];
+		this.rowOffsets = new int[height];
+		this.columnBuffer = new boolean[height];
 	}
 
 	public long litPixelCount() {
-		return this.pixels.stream() //
-				.flatMap(List::stream) //
-				.filter(i -> i) //
-				.count();
+		long count = 0;
+		for (long[] row : this.rows) {
+			for (long word : row) {
+				count += Long.bitCount(word);
+			}
+		}
+		return count;
 	}
 
 	@Override
 	public String toString() {
-		return this.pixels.stream() //
-				.map(PixelDisplay::rowToString) //
-				.collect(joining("\n"));
-	}
-
-	private static String rowToString(List<Boolean> row) {
-		return row.stream() //
-				.map(pixel -> pixel ? "#" : ".") //
-				.collect(joining(""));
+		StringBuilder output = new StringBuilder((this.width + 1) * this.height);
+		for (int y = 0; y < this.height; y++) {
+			if (y > 0) {
+				output.append('\n');
+			}
+			for (int x = 0; x < this.width; x++) {
+				output.append(this.isLit(x, y) ? '#' : '.');
+			}
+		}
+		return output.toString();
 	}
 
 	public void applyOperation(String operationString) {
@@ -115,35 +119,70 @@ public class PixelDisplay {
 		operation.apply(operationString, this);
 	}
 
-	private void rect(int width, int height) {
-		for (int x = 0; x < width; x++) {
-			for (int y = 0; y < height; y++) {
-				this.pixels.get(y).set(x, true);
-			}
-		}
+	private int physicalX(int x, int y) {
+		return Math.floorMod(x - this.rowOffsets[y], this.width);
 	}
 
-	private void rotateRow(int index, int amount) {
-		Collections.rotate(this.pixels.get(index), amount);
+	private boolean isLit(int x, int y) {
+		int physical = this.physicalX(x, y);
+		return (this.rows[y][physical / Long.SIZE] & (1L << physical)) != 0;
 	}
 
-	private void rotateColumn(int index, int amount) {
-		List<Boolean> column = this.getColumn(index);
-		Collections.rotate(column, amount);
-		this.setColumn(index, column);
+	private void setLit(int x, int y, boolean lit) {
+		int physical = this.physicalX(x, y);
+		if (lit) {
+			this.rows[y][physical / Long.SIZE] |= 1L << physical;
+		} else {
+			this.rows[y][physical / Long.SIZE] &= ~(1L << physical);
+		}
 	}
 
-	private List<Boolean> getColumn(int index) {
-		return IntStream.range(0, this.pixels.size()) //
-				.mapToObj(i -> this.pixels.get(i).get(index)) //
-				.collect(toArrayList());
+	private void rect(int width, int height) {
+		Preconditions.checkArgument(width <= this.width && height <= this.height, "Rect %sx%s is too large", width,
+				height);
+
+		for (int y = 0; y < height; y++) {
+			// The lit span starts at the physical position of x = 0 and may wrap around the end of the row.
+			int start = this.physicalX(0, y);
+			int beforeWrap = Math.min(width, this.width - start);
+			fill(this.rows[y], start, start + beforeWrap);
+			fill(this.rows[y], 0, width - beforeWrap);
+		}
 	}
 
-	private void setColumn(int index, List<Boolean> newColumn) {
-		Preconditions.checkArgument(newColumn.size() == this.pixels.size());
+	/**
+	 * Lights the bits from (inclusive) to (exclusive), a word at a time.
+	 */
+	private static void fill(long[] row, int from, int to) {
+		if (from >= to) {
+			return;
+		}
+		int firstWord = from / Long.SIZE;
+		int lastWord = (to - 1) / Long.SIZE;
+		long firstMask = -1L << from;
+		long lastMask = -1L >>> -to;
+		if (firstWord == lastWord) {
+			row[firstWord] |= firstMask & lastMask;
+			return;
+		}
+		row[firstWord] |= firstMask;
+		Arrays.fill(row, firstWord + 1, lastWord, -1L);
+		row[lastWord] |= lastMask;
+	}
 
-		for (int i = 0; i < newColumn.size(); i++) {
-			this.pixels.get(i).set(index, newColumn.get(i));
+	private void rotateRow(int index, int amount) {
+		this.rowOffsets[index] = Math.floorMod(this.rowOffsets[index] + amount, this.width);
+	}
+
+	/**
+	 * Columns cut across the row bitsets, so a column rotation moves one bit per row rather than adjusting an offset.
+	 */
+	private void rotateColumn(int index, int amount) {
+		for (int y = 0; y < this.height; y++) {
+			this.columnBuffer[y] = this.isLit(index, y);
+		}
+		for (int y = 0; y < this.height; y++) {
+			this.setLit(index, Math.floorMod(y + amount, this.height), this.columnBuffer[y]);
 		}
 	}
 
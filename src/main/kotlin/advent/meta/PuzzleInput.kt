@@ -0,0 +1,116 @@
+package advent.meta
+
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * A puzzle's input.txt, memory-mapped the first time anyone asks for it and then shared by everything in the JVM (so
+ * a batch of runs only loads each file once).
+ *
+ * The views it hands out don't copy the file: [bytes] is a read-only window onto the mapping, and [text] and
+ * [lineIterator] read characters straight out of it.
+ */
+class PuzzleInput private constructor(val path: Path, private val mapped: ByteBuffer) {
+
+  /**
+   * The whole file as characters. Input files are ASCII, so each byte is one character; any other file is decoded
+   * (once) as UTF-8 instead.
+   */
+  val text: CharSequence = if (isAscii(mapped)) AsciiText(mapped, 0, mapped.limit())
+  else StandardCharsets.UTF_8.decode(mapped.duplicate())
+
+  /**
+   * The whole file as a String, without surrounding whitespace - what most solutions want.
+   */
+  val trimmed: String by lazy { text.trim().toString() }
+
+  fun bytes(): ByteBuffer = mapped.asReadOnlyBuffer()
+
+  /**
+   * Each line of the file, without its line terminator. A final line terminator doesn't start another line.
+   */
+  fun lineIterator(): Iterator<CharSequence> = object : Iterator<CharSequence> {
+    private var start = 0
+
+    override fun hasNext() = start < text.length
+
+    override fun next(): CharSequence {
+      if (!hasNext()) throw NoSuchElementException()
+      val newline = text.indexOf('\n', start).let { if (it < 0) text.length else it }
+      val end = if (newline > start && text[newline - 1] == '\r') newline - 1 else newline
+      val line = text.subSequence(start, end)
+      start = newline + 1
+      return line
+    }
+  }
+
+  fun lines(): Sequence<CharSequence> = lineIterator().asSequence()
+
+  override fun toString() = "PuzzleInput($path)"
+
+  companion object {
+    private val loaded = ConcurrentHashMap<Path, PuzzleInput>()
+
+    private val PACKAGE = Regex("""advent\.year(\d{4})\.day(\d{1,2})""")
+
+    /**
+     * The input for a day, from whichever of the Java and Kotlin source trees holds it.
+     */
+    @JvmStatic
+    fun of(year: Int, day: Int): PuzzleInput {
+      val path = listOf("java", "kotlin")
+        .map { Paths.get("src", "main", it, "advent", "year$year", "day$day", "input.txt") }
+        .firstOrNull { Files.exists(it) }
+        ?: throw IllegalArgumentException("No input for $year day $day")
+      return loaded.computeIfAbsent(path.toAbsolutePath().normalize()) { load(it) }
+    }
+
+    /**
+     * The input for the day whose package the class is in.
+     */
+    @JvmStatic
+    fun forClass(type: Class<*>): PuzzleInput {
+      val match = PACKAGE.matchEntire(type.packageName)
+        ?: throw IllegalArgumentException("${type.name} is not in a day's package")
+      return of(match.groupValues[1].toInt(), match.groupValues[2].toInt())
+    }
+
+    private fun load(path: Path): PuzzleInput = FileChannel.open(path, StandardOpenOption.READ).use { channel ->
+      // The mapping stays valid after the channel is closed.
+      PuzzleInput(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()))
+    }
+
+    private fun isAscii(buffer: ByteBuffer) = (0 until buffer.limit()).all { buffer.get(it) >= 0 }
+  }
+}
+
+/**
+ * Characters read one byte each from part of a buffer.
+ */
+private class AsciiText(private val buffer: ByteBuffer, private val start: Int, private val end: Int) : CharSequence {
+  override val length get() = end - start
+
+  override fun get(index: Int): Char {
+    if (index < 0 || index >= length) throw IndexOutOfBoundsException("$index of $length")
+    return buffer.get(start + index).toInt().toChar()
+  }
+
+  override fun subSequence(startIndex: Int, endIndex: Int): CharSequence {
+    if (startIndex < 0 || endIndex > length || startIndex > endIndex) {
+      throw IndexOutOfBoundsException("$startIndex to $endIndex of $length")
+    }
+    return AsciiText(buffer, start + startIndex, start + endIndex)
+  }
+
+  override fun toString(): String {
+    val bytes = ByteArray(length)
+    buffer.get(start, bytes)
+    return String(bytes, StandardCharsets.US_ASCII)
+  }
+}
@@ -1,15 +1,8 @@
 package advent.meta
 
-import java.io.File
-
 /**
- * When called from a main function, reads the "input.txt" file from the same source directory,
- * based on the package.
+ * Reads the "input.txt" file for the given day, without surrounding whitespace.
+ *
+ * Each file is only read once per JVM; see [PuzzleInput].
  */
-fun readInput(): String {
-    // Can't do a "this.class" because a top-level method doesn't have access to an instance object.
-    val className = Thread.currentThread().stackTrace.last().className
-    val packageName = className.substringBeforeLast(".")
-    val path = "src/main/kotlin/${packageName.replace('.', '/')}/input.txt"
-    return File(path).readText().trim()
-}
\ No newline at end of file
+fun readInput(year: Int, day: Int): String = PuzzleInput.of(year, day).trimmed
@@ -0,0 +1,172 @@
+package advent.meta
+
+import com.google.gson.GsonBuilder
+import java.io.ByteArrayOutputStream
+import java.io.OutputStream
+import java.io.PrintStream
+import java.lang.management.ManagementFactory
+import java.lang.reflect.InvocationTargetException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+/**
+ * Runs solutions in this JVM, several at once on a bounded pool of workers, capturing what each one prints and
+ * measuring what it cost.
+ *
+ * Each solution runs on its own thread. One that is still going after the timeout is interrupted and reported as timed
+ * out, but since most solutions never check for interruption, it may carry on in the background until the JVM exits.
+ * The CPU time and allocation are those of the solution's own thread, so they leave out any work it hands to other
+ * threads (like parallel streams).
+ */
+class SolutionRunner(
+  private val workers: Int = Runtime.getRuntime().availableProcessors(),
+  private val timeout: Duration = Duration.ofMinutes(1)
+) {
+
+  init {
+    require(workers > 0) { "Need at least one worker, not $workers" }
+  }
+
+  fun run(solutions: List<Solution>): List<SolutionReport> {
+    ThreadOutput.install()
+    val pool = Executors.newFixedThreadPool(workers) { runnable -> Thread(runnable).apply { isDaemon = true } }
+    try {
+      return solutions.map { pool.submit<SolutionReport> { run(it) } }
+        .map { it.get() }
+    } finally {
+      pool.shutdown()
+    }
+  }
+
+  private fun run(solution: Solution): SolutionReport {
+    val threads = ManagementFactory.getThreadMXBean()
+    val output = ByteArrayOutputStream()
+    var failure: Throwable? = null
+    var cpuNanos: Long? = null
+    var allocatedBytes: Long? = null
+
+    val thread = Thread {
+      ThreadOutput.captureInto(output)
+      val threadId = Thread.currentThread().id
+      try {
+        solution.mainMethod().invoke(null, arrayOf<String>())
+      } catch (e: InvocationTargetException) {
+        failure = e.targetException
+      } catch (e: Exception) {
+        failure = e
+      } finally {
+        cpuNanos = threads.currentThreadCpuTime.takeIf { it >= 0 }
+        allocatedBytes = (threads as? com.sun.management.ThreadMXBean)?.getThreadAllocatedBytes(threadId)
+      }
+    }
+    thread.isDaemon = true
+    thread.name = "solution ${solution.name}"
+
+    val start = System.nanoTime()
+    thread.start()
+    thread.join(timeout.toMillis())
+    val wallNanos = System.nanoTime() - start
+
+    val status = when {
+      thread.isAlive -> {
+        cpuNanos = threads.getThreadCpuTime(thread.id).takeIf { it >= 0 }
+        thread.interrupt()
+        SolutionStatus.TIMED_OUT
+      }
+
+      failure != null -> SolutionStatus.FAILED
+      else -> SolutionStatus.SUCCEEDED
+    }
+
+    return SolutionReport(
+      solution.year,
+      solution.day,
+      solution.className,
+      status,
+      output.toString().lines().filter { it.isNotBlank() },
+      TimeUnit.NANOSECONDS.toMillis(wallNanos),
+      cpuNanos?.let { TimeUnit.NANOSECONDS.toMillis(it) },
+      allocatedBytes,
+      failure?.toString()
+    )
+  }
+}
+
+enum class SolutionStatus { SUCCEEDED, FAILED, TIMED_OUT }
+
+data class SolutionReport(
+  val year: Int,
+  val day: Int,
+  val className: String,
+  val status: SolutionStatus,
+  val output: List<String>,
+  val wallMillis: Long,
+  // Null where the JVM can't measure them.
+  val cpuMillis: Long?,
+  val allocatedBytes: Long?,
+  val error: String?
+)
+
+/**
+ * Lets each solution thread (and any threads it starts) print to its own buffer, while everything else still prints
+ * to the real standard output.
+ */
+private object ThreadOutput {
+  private val target = InheritableThreadLocal<OutputStream?>()
+  private var installed = false
+
+  @Synchronized
+  fun install() {
+    if (installed) return
+    val original = System.out
+    val routing = object : OutputStream() {
+      override fun write(b: Int) = (target.get() ?: original).write(b)
+      override fun write(b: ByteArray, off: Int, len: Int) = (target.get() ?: original).write(b, off, len)
+      override fun flush() = (target.get() ?: original).flush()
+    }
+    System.setOut(PrintStream(routing, true))
+    installed = true
+  }
+
+  fun captureInto(output: OutputStream) = target.set(output)
+}
+
+/**
+ * Runs some or all of the solutions in one JVM, then prints a summary and writes a JSON report.
+ *
+ * Arguments select what to run, as years ("2016") or days ("2016/11"); with none, everything runs. Options are
+ * --workers=N, --timeout=SECONDS and --report=PATH (by default build/reports/solutions.json).
+ *
+ * Solutions read their input by relative path, so this must run from the project root.
+ */
+fun main(args: Array<String>) {
+  val options = args.filter { it.startsWith("--") }
+    .associate { it.removePrefix("--").substringBefore("=") to it.substringAfter("=") }
+  val selections = args.filterNot { it.startsWith("--") }
+
+  val solutions = if (selections.isEmpty()) Solutions.all else selections.flatMap { selection ->
+    val parts = selection.split("/").map { it.toInt() }
+    if (parts.size == 1) Solutions.forYear(parts[0]) else Solutions.forDay(parts[0], parts[1])
+  }.distinct()
+
+  val runner = SolutionRunner(
+    workers = options["workers"]?.toInt() ?: Runtime.getRuntime().availableProcessors(),
+    timeout = Duration.ofSeconds(options["timeout"]?.toLong() ?: 60)
+  )
+  val reports = runner.run(solutions)
+
+  reports.forEach {
+    println("${it.year}/${it.day} ${it.className.substringAfterLast('.')}: ${it.status} in ${it.wallMillis} ms")
+    it.output.forEach { line -> println("  $line") }
+    it.error?.let { error -> println("  $error") }
+  }
+
+  val reportPath: Path = Paths.get(options["report"] ?: "build/reports/solutions.json")
+  reportPath.parent?.let { Files.createDirectories(it) }
+  Files.writeString(reportPath, GsonBuilder().setPrettyPrinting().serializeNulls().create().toJson(reports))
+  println("Report written to $reportPath")
+}
@@ -0,0 +1,85 @@
+package advent.meta
+
+import java.io.File
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+import java.net.JarURLConnection
+import java.net.URL
+import java.nio.file.Files
+import java.nio.file.Paths
+import kotlin.streams.toList
+
+/**
+ * A solution to one day's puzzle: a main function in an advent.yearYYYY.dayN package. (Most of them print the answers
+ * to both parts; a few days have more than one.)
+ */
+data class Solution(val year: Int, val day: Int, val className: String) : Comparable<Solution> {
+  val name get() = "$year/$day ${className.substringAfterLast('.')}"
+
+  fun mainMethod(): Method = Class.forName(className).getMethod("main", Array<String>::class.java)
+
+  override fun compareTo(other: Solution) = compareValuesBy(this, other, { it.year }, { it.day }, { it.className })
+}
+
+/**
+ * All the solutions on the classpath, found by scanning it once, the first time they're asked for.
+ */
+object Solutions {
+
+  private val CLASS_NAME = Regex("""advent\.year(\d{4})\.day(\d{1,2})\.\w+""")
+
+  val all: List<Solution> by lazy { discover() }
+
+  fun forYear(year: Int) = all.filter { it.year == year }
+
+  fun forDay(year: Int, day: Int) = all.filter { it.year == year && it.day == day }
+
+  private fun discover(): List<Solution> {
+    val loader = Solutions::class.java.classLoader
+
+    // Java and Kotlin classes are compiled to separate directories, so there can be several roots.
+    return loader.getResources("advent").toList()
+      .flatMap { classNames(it) }
+      .distinct()
+      .mapNotNull { className ->
+        CLASS_NAME.matchEntire(className)?.let { Solution(it.groupValues[1].toInt(), it.groupValues[2].toInt(), className) }
+      }
+      .filter { hasMain(it.className, loader) }
+      .sorted()
+  }
+
+  private fun classNames(root: URL): List<String> = when (root.protocol) {
+    "file" -> {
+      val directory = Paths.get(root.toURI())
+      Files.walk(directory).use { paths ->
+        paths.filter { it.toString().endsWith(".class") }
+          .map { directory.parent.relativize(it).toString().removeSuffix(".class").replace(File.separatorChar, '.') }
+          .toList()
+      }
+    }
+
+    "jar" -> {
+      val connection = root.openConnection() as JarURLConnection
+      connection.useCaches = false
+      connection.jarFile.use { jar ->
+        jar.entries().toList()
+          .map { it.name }
+          .filter { it.startsWith("advent/") && it.endsWith(".class") }
+          .map { it.removeSuffix(".class").replace('/', '.') }
+      }
+    }
+
+    else -> emptyList()
+  }
+
+  private fun hasMain(className: String, loader: ClassLoader) = try {
+    // Not initializing the class, so that nothing in it runs yet.
+    val main = Class.forName(className, false, loader).getMethod("main", Array<String>::class.java)
+    Modifier.isStatic(main.modifiers)
+  } catch (e: NoSuchMethodException) {
+    false
+  } catch (e: LinkageError) {
+    // Something it refers to isn't on the classpath.
+    false
+  }
+}
@@ -1,5 +1,10 @@
 package advent.utils
 
+import java.util.PriorityQueue
+
+private val statesExpanded = Metrics.global().counter("search.statesExpanded")
+private val frontierSize = Metrics.global().gauge("search.frontierSize")
+
 class ShortestPathFinder {
 
   /**
@@ -8,8 +13,11 @@ class ShortestPathFinder {
    * We assume that the paths are stateless except for what is captured in the "point" type - i.e., there is no reason
    * to ever revisit a point since a shorter path would then exist.
    *
-   * We do a breadth-first search and eliminate any path that returns to a point that we have already visited (since
-   * it cannot then be one of the shortest paths).
+   * This is Dijkstra's algorithm (or A*, given a heuristic): states are taken off a priority queue cheapest first, and
+   * any path that returns to a point already reached more cheaply is eliminated (since it cannot then be one of the
+   * shortest paths). Without a filter, and collapsing either nothing or on the current state, only the predecessors of
+   * each point are kept, and the shortest paths are read back from those at the end; otherwise each path in progress
+   * is kept as a link to the path it extends.
    *
    * @param start The starting point of the path.
    * @param end The target [EndOptions].
@@ -19,70 +27,30 @@ class ShortestPathFinder {
    * @param collapse A speed up optimization choice: [CollapseOptions] can optionally collapse some paths and only
    * consider the first one, if our problem statement allows it. For example, if we only care about finding *one* path,
    * we will often want to collapse based on the last() element of the path.
-   * @param reportEvery If non-null, prints a debug statement every this number of steps.
+   * @param reportEvery If non-null, prints a debug statement every this number of steps. (The number of states expanded
+   * and the size of the frontier are also kept in [Metrics.global], for watching a search without printing.)
+   * @param heuristic A lower bound on the remaining cost from a point to the end, to search towards the end first (A*).
+   * It must never overestimate, and must not drop by more than the cost of any step; by default it is 0 everywhere.
    *
    * @return All the shortest paths (i.e., of equal length) from start to end, or empty set if there are none.
    */
+  @JvmOverloads
   fun <T> find(
     start: T,
     end: EndOptions<T>,
     nextSteps: StepOptions<T>,
     filter: FilterOptions<T> = NoFilter(),
     collapse: CollapseOptions<T, *> = NoCollapse(),
-    reportEvery: Int? = null
-  ): Set<Path<T>> =
-    find(
-      end::matches,
-      PathsInProgress(start),
-      setOf(start),
-      nextSteps::next,
-      filter::discard,
-      collapse::collapseKey,
-      reportEvery,
-      0
-    )
-
-  private tailrec fun <T, K> find(
-    endCondition: (T) -> Boolean,
-    inProgress: PathsInProgress<T>,
-    visited: Set<T>,
-    nextSteps: (T) -> Set<Step<T>>,
-    filterOut: (List<T>) -> Boolean,
-    collapseKey: (List<T>) -> K,
-    reportEvery: Int?,
-    costIncurred: Int
+    reportEvery: Int? = null,
+    heuristic: (T) -> Int = { 0 }
   ): Set<Path<T>> {
-
-    val currentPaths = inProgress.current()
-    val successfulPaths = currentPaths.filter { it.steps.isNotEmpty() && endCondition(it.steps.last()) }
-
-    return when {
-      successfulPaths.isNotEmpty() -> successfulPaths.map { Path(it.steps, costIncurred) }.toSet()
-      inProgress.isEmpty() -> emptySet()
-      else -> {
-        val nextPaths: Set<PathAndCost<T>> = currentPaths.flatMap { it.next(nextSteps, visited) }
-          .filter { !filterOut(it.path.steps) }
-          .toSet()
-
-        if (reportEvery != null && (costIncurred % reportEvery == 0)) {
-          println("At step $costIncurred, considering ${nextPaths.size} options")
-        }
-
-        val nextInProgress: PathsInProgress<T> = (inProgress.plus(nextPaths, collapseKey)).advanced()
-
-        val nextVisited: Set<T> = visited + nextInProgress.current().map { it.currentPoint }
-
-        find(
-          endCondition,
-          nextInProgress,
-          nextVisited,
-          nextSteps, filterOut,
-          collapseKey,
-          reportEvery,
-          costIncurred + 1
-        )
-      }
+    val search: Search<T, *> = when {
+      filter !is NoFilter<*> -> PathTreeSearch(start, heuristic, filter, collapse)
+      collapse is NoCollapse<*> -> PredecessorSearch(start, heuristic, allPredecessors = true)
+      collapse is CollapseOnCurrentState<*> -> PredecessorSearch(start, heuristic, allPredecessors = false)
+      else -> PathTreeSearch(start, heuristic, filter, collapse)
     }
+    return search.run(end::matches, nextSteps::next, reportEvery)
   }
 }
 
@@ -187,52 +155,205 @@ data class Step<T>(val next: T, val cost: Int) {
  */
 data class Path<T>(val steps: List<T>, val totalCost: Int)
 
-private data class PathInProgress<T>(
-  val steps: List<T>,
-  val currentPoint: T
-) {
-  fun next(
-    nextSteps: (T) -> Set<Step<T>>,
-    visited: Set<T>
-  ): Set<PathAndCost<T>> = nextSteps(currentPoint)
-    .asSequence()
-    .filter { !visited.contains(it.next) }
-    .map { PathAndCost(this.withStep(it.next), it.cost) }
-    .toSet()
+private data class Queued<N>(val node: N, val cost: Int, val estimate: Int)
+
+/**
+ * The search loop, shared by the two ways of remembering the paths found so far. Nodes come off the queue in order of
+ * cost plus heuristic; the search stops once that exceeds the cost of the first path found to the end, having
+ * collected every other path to the end of that same cost.
+ */
+private abstract class Search<T, N>(start: N, private val heuristic: (T) -> Int) {
+
+  private val queue = PriorityQueue<Queued<N>>(compareBy { it.estimate })
+
+  init {
+    queue.add(Queued(start, 0, 0))
+  }
+
+  protected fun enqueue(node: N, point: T, cost: Int) {
+    queue.add(Queued(node, cost, cost + heuristic(point)))
+  }
+
+  abstract fun pointOf(node: N): T
+
+  /**
+   * Called as each node comes off the queue: whether it is still worth expanding, i.e. no cheaper way to the same
+   * place has been found since it was queued.
+   */
+  abstract fun settle(node: N, cost: Int): Boolean
+
+  abstract fun expand(node: N, cost: Int, nextSteps: (T) -> Set<Step<T>>)
+
+  abstract fun pathsTo(ends: List<N>, cost: Int): Set<Path<T>>
+
+  fun run(endCondition: (T) -> Boolean, nextSteps: (T) -> Set<Step<T>>, reportEvery: Int?): Set<Path<T>> {
+    val ends = mutableListOf<N>()
+    var bestCost: Int? = null
+    var lastEstimate = -1
+
+    while (queue.isNotEmpty()) {
+      val (node, cost, estimate) = queue.poll()
+      if (bestCost != null && estimate > bestCost) break
+      if (!settle(node, cost)) continue
+
+      if (reportEvery != null && estimate != lastEstimate && estimate % reportEvery == 0) {
+        println("At step $estimate, considering ${queue.size} options")
+      }
+      lastEstimate = estimate
 
-  private fun withStep(nextPoint: T) = PathInProgress(this.steps + nextPoint, nextPoint)
+      // The start is the only node with no cost, and is not itself a path to the end.
+      if (cost > 0 && endCondition(pointOf(node))) {
+        if (bestCost == null || cost == bestCost) {
+          ends.add(node)
+          bestCost = cost
+        }
+        continue
+      }
+
+      statesExpanded.increment()
+      expand(node, cost, nextSteps)
+      frontierSize.set(queue.size.toLong())
+    }
+
+    return if (bestCost == null) emptySet() else pathsTo(ends, bestCost)
+  }
 }
 
-private data class PathAndCost<T>(val path: PathInProgress<T>, val cost: Int)
+/**
+ * Remembers, for each point, its cost and the points it can be reached from at that cost - all of them when we want
+ * all the shortest paths, or only the first when we collapse on the current state.
+ */
+private class PredecessorSearch<T>(private val start: T, heuristic: (T) -> Int, private val allPredecessors: Boolean) :
+  Search<T, T>(start, heuristic) {
+
+  private class Reached<T>(val cost: Int, val predecessors: MutableList<T> = mutableListOf())
+
+  private val reached = mutableMapOf(start to Reached<T>(0))
+  private val settled = mutableSetOf<T>()
+
+  override fun pointOf(node: T) = node
+
+  override fun settle(node: T, cost: Int) = reached.getValue(node).cost == cost && settled.add(node)
+
+  override fun expand(node: T, cost: Int, nextSteps: (T) -> Set<Step<T>>) {
+    nextSteps(node).forEach { step ->
+      val nextCost = cost + step.cost
+      val previous = reached[step.next]
+      when {
+        previous == null || (nextCost < previous.cost && step.next !in settled) -> {
+          reached[step.next] = Reached(nextCost, mutableListOf(node))
+          enqueue(step.next, step.next, nextCost)
+        }
+
+        nextCost == previous.cost && allPredecessors -> previous.predecessors.add(node)
+      }
+    }
+  }
+
+  /**
+   * Walks back from each end through every combination of predecessors, building the paths up from their ends.
+   */
+  override fun pathsTo(ends: List<T>, cost: Int): Set<Path<T>> {
+    val paths = mutableSetOf<Path<T>>()
+    val toWalk = ArrayDeque(ends.map { it to Suffix(it, null) })
+    while (toWalk.isNotEmpty()) {
+      val (point, suffix) = toWalk.removeLast()
+      val predecessors = reached.getValue(point).predecessors
+      predecessors.forEach { predecessor ->
+        if (predecessor == start) {
+          paths.add(Path(suffix.toList(), cost))
+        } else {
+          toWalk.addLast(predecessor to Suffix(predecessor, suffix))
+        }
+      }
+    }
+    return paths
+  }
+
+  private class Suffix<T>(val first: T, val rest: Suffix<T>?) {
+    fun toList(): List<T> = generateSequence(this) { it.rest }.map { it.first }.toList()
+  }
+}
 
 /**
- * The cost for each item in the set is how much additional cost it would be to proceed onto one of those paths from
- * the current state.
+ * Keeps each path in progress as a node linked to the path it extends, for filters and collapses that look at more
+ * of the path than its current point.
  */
-private class PathsInProgress<T>(private val nextPathsByCost: Set<PathAndCost<T>>) {
-  constructor(start: T) : this(setOf(PathAndCost(PathInProgress(emptyList(), start), 0)))
+private class PathTreeSearch<T>(
+  start: T,
+  heuristic: (T) -> Int,
+  private val filter: FilterOptions<T>,
+  private val collapse: CollapseOptions<T, *>
+) : Search<T, PathNode<T>>(PathNode(start, null, 0), heuristic) {
 
-  fun current() = nextPathsByCost.filter { it.cost == 0 }.map { it.path }
+  /**
+   * The cost at which each point was first taken off the queue.
+   */
+  private val settledCosts = mutableMapOf<T, Int>()
+
+  /**
+   * The cheapest path still on the queue for each collapse key.
+   */
+  private val pending = mutableMapOf<Any?, PathNode<T>>()
 
-  fun advanced(): PathsInProgress<T> = PathsInProgress(nextPathsByCost.filter { it.cost > 0 }
-    .map { PathAndCost(it.path, it.cost - 1) }
-    .toSet())
+  override fun pointOf(node: PathNode<T>) = node.point
+
+  override fun settle(node: PathNode<T>, cost: Int): Boolean {
+    if (node.superseded) return false
+    val settledCost = settledCosts.getOrPut(node.point) { cost }
+    if (node.depth > 0 && collapse !is NoCollapse<*>) pending.remove(collapse.collapseKey(node.steps), node)
+    return settledCost == cost
+  }
+
+  override fun expand(node: PathNode<T>, cost: Int, nextSteps: (T) -> Set<Step<T>>) {
+    nextSteps(node.point).forEach { step ->
+      val nextCost = cost + step.cost
+      val settledCost = settledCosts[step.next]
+      if (settledCost != null && settledCost < nextCost) return@forEach
+
+      val next = PathNode(step.next, node, nextCost)
+      if (filter.discard(next.steps)) return@forEach
+
+      if (collapse !is NoCollapse<*>) {
+        val key = collapse.collapseKey(next.steps)
+        val existing = pending[key]
+        if (existing != null) {
+          if (existing.cost <= nextCost) return@forEach
+          existing.superseded = true
+        }
+        pending[key] = next
+      }
+      enqueue(next, step.next, nextCost)
+    }
+  }
 
-  fun isEmpty() = nextPathsByCost.isEmpty()
+  override fun pathsTo(ends: List<PathNode<T>>, cost: Int) = ends.map { Path(it.steps.toList(), cost) }.toSet()
+}
 
-  fun size() = nextPathsByCost.size
+private class PathNode<T>(val point: T, val previous: PathNode<T>?, val cost: Int) {
+  val depth: Int = if (previous == null) 0 else previous.depth + 1
+  val firstStep: PathNode<T> = if (previous == null || previous.depth == 0) this else previous.firstStep
+  var superseded = false
 
-  fun <K> plus(
-    newPaths: Set<PathAndCost<T>>,
-    collapseKey: (List<T>) -> K
-  ): PathsInProgress<T> {
+  val steps: List<T>
+    get() = PathSteps(this)
+}
 
-    val allNext = nextPathsByCost + newPaths
+/**
+ * The points after the start of a path, as a list that only walks back along the path if something other than its
+ * first or last element is asked for.
+ */
+private class PathSteps<T>(private val node: PathNode<T>) : AbstractList<T>() {
+  private val all: List<T> by lazy {
+    generateSequence(node) { it.previous }.takeWhile { it.depth > 0 }.map { it.point }.toList().asReversed()
+  }
 
-    val collapsed = allNext.groupBy { if (it.path.steps.isEmpty()) null else collapseKey(it.path.steps) }
-      .values
-      .mapNotNull { paths -> paths.minByOrNull { it.cost } }
+  override val size = node.depth
 
-    return PathsInProgress(collapsed.toSet())
+  override fun get(index: Int): T = when {
+    index !in 0 until size -> throw IndexOutOfBoundsException("Index $index, size $size")
+    index == size - 1 -> node.point
+    index == 0 -> node.firstStep.point
+    else -> all[index]
   }
-}
\ No newline at end of file
+}
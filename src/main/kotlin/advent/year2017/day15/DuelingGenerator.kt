@@ -1,5 +1,8 @@
 package advent.year2017.day15
 
+import advent.utils.expMod
+import java.util.stream.LongStream
+
 /**
  * --- Day 15: Dueling Generators ---
  * Here, you encounter a pair of dueling generators. The generators, called generator A and generator B, are trying to
@@ -96,35 +99,101 @@ package advent.year2017.day15
  */
 class DuelingGenerator(val factor: Int,
                        val startingValue: Int,
-                       val criterion: (Int) -> Boolean = { true }) {
+                       val multipleOf: Int = 1) {
+
+    init {
+        require(startingValue in 0 until MODULUS) { "Bad starting value $startingValue" }
+        require(multipleOf > 0 && multipleOf and (multipleOf - 1) == 0) { "$multipleOf is not a power of two" }
+    }
 
     companion object {
         private val A_FACTOR = 16807
         private val B_FACTOR = 48271
 
+        /**
+         * 2^31 - 1, a Mersenne prime.
+         */
+        private const val MODULUS = 2147483647L
+
+        /**
+         * Below this many pairs, it is not worth splitting up the work.
+         */
+        private const val MIN_PAIRS_PER_CHUNK = 1L shl 20
+
         fun a(startingValue: Int) = DuelingGenerator(A_FACTOR, startingValue)
         fun b(startingValue: Int) = DuelingGenerator(B_FACTOR, startingValue)
-        fun pickyA(startingValue: Int) = DuelingGenerator(A_FACTOR, startingValue, { it % 4 == 0 })
-        fun pickyB(startingValue: Int) = DuelingGenerator(B_FACTOR, startingValue, { it % 8 == 0 })
+        fun pickyA(startingValue: Int) = DuelingGenerator(A_FACTOR, startingValue, multipleOf = 4)
+        fun pickyB(startingValue: Int) = DuelingGenerator(B_FACTOR, startingValue, multipleOf = 8)
 
         fun lowest16Bits(input: Int) = input.and(0b1111_1111_1111_1111)
+
+        /**
+         * x * y mod 2^31 - 1, for x and y below that. Since 2^31 is 1 mod the modulus, the bits of the product above the
+         * lowest 31 can be added back on to them instead of dividing; one subtraction then finishes the job.
+         */
+        private fun multiplyMod(x: Long, y: Long): Long {
+            val product = x * y
+            val folded = (product and MODULUS) + (product ushr 31)
+            return if (folded >= MODULUS) folded - MODULUS else folded
+        }
     }
 
-    val sequence = sequence {
-        var current = startingValue
-        while (true) {
-            current = ((current * factor.toLong()) % 2147483647).toInt()
-            if (criterion(current)) {
-                yield(current)
-            }
+    /**
+     * Only values that are a multiple of [multipleOf] (a power of two) are produced, i.e. with none of these bits set.
+     */
+    private val mask = multipleOf - 1L
+
+    private fun next(value: Long): Long {
+        var current = value
+        do {
+            current = multiplyMod(current, factor.toLong())
+        } while (current and mask != 0L)
+        return current
+    }
+
+    val sequence: Sequence<Int> = generateSequence(next(startingValue.toLong())) { next(it) }.map { it.toInt() }
+
+    fun matchCount(other: DuelingGenerator, numPairs: Int): Int = matchCount(other, numPairs.toLong()).toInt()
+
+    /**
+     * When neither generator is picky, pair i comes from each generator's own i-th value, which can be jumped straight
+     * to as startingValue * factor^i; so the pairs are split into chunks and counted in parallel. Picky generators skip
+     * an unknown number of values to reach each pair, so those are counted in one pass.
+     */
+    fun matchCount(other: DuelingGenerator, numPairs: Long): Long {
+        require(numPairs >= 0) { "Negative number of pairs $numPairs" }
+
+        if (this.multipleOf != 1 || other.multipleOf != 1) {
+            return countMatches(this.startingValue.toLong(), other, other.startingValue.toLong(), numPairs)
         }
+
+        val chunks = (numPairs / MIN_PAIRS_PER_CHUNK)
+            .coerceIn(1L, Runtime.getRuntime().availableProcessors() * 4L)
+        return LongStream.range(0, chunks)
+            .parallel()
+            .map { chunk ->
+                val start = numPairs * chunk / chunks
+                val end = numPairs * (chunk + 1) / chunks
+                countMatches(multiplyMod(this.startingValue.toLong(), expMod(this.factor.toLong(), start, MODULUS)),
+                    other,
+                    multiplyMod(other.startingValue.toLong(), expMod(other.factor.toLong(), start, MODULUS)),
+                    end - start)
+            }
+            .sum()
     }
 
-    fun matchCount(other: DuelingGenerator, numPairs: Int): Int {
-        return sequence.zip(other.sequence)
-                .take(numPairs)
-                .filter { lowest16Bits(it.first) == lowest16Bits(it.second) }
-                .count()
+    private fun countMatches(fromValue: Long, other: DuelingGenerator, otherFromValue: Long, numPairs: Long): Long {
+        var value = fromValue
+        var otherValue = otherFromValue
+        var matches = 0L
+        for (i in 0 until numPairs) {
+            value = this.next(value)
+            otherValue = other.next(otherValue)
+            if ((value xor otherValue) and 0xFFFF == 0L) {
+                matches++
+            }
+        }
+        return matches
     }
 }
 
@@ -142,4 +211,4 @@ fun main() {
 
     println(pickyA.matchCount(pickyB, 5_000_000))
 
-}
\ No newline at end of file
+}
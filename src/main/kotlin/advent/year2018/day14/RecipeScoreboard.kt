@@ -1,11 +1,9 @@
 package advent.year2018.day14
 
-import java.util.*
-import kotlin.streams.toList
-
 /**
  * Note - mutable because the immutable solution took too long (having to make copies of the whole list every time to
- * step forward).
+ * step forward). The scores are kept one digit per byte, in an array that doubles in size when it fills up, so even
+ * hundreds of millions of recipes take only a few hundred megabytes.
  */
 /**
  * --- Day 14: Chocolate Charts ---
@@ -70,25 +68,42 @@ import kotlin.streams.toList
  * How many recipes appear on the scoreboard to the left of the score sequence in your puzzle input?
  * 
  */
-class RecipeScoreboard(private var recipes: MutableList<Int> = mutableListOf(3, 7),
+class RecipeScoreboard(initialRecipes: List<Int> = listOf(3, 7),
                        private var firstElfIndex: Int = 0,
                        private var secondElfIndex: Int = 1) {
 
-    private fun advance() {
-        val firstElfValue = recipes[firstElfIndex]
-        val secondElfValue = recipes[secondElfIndex]
-        recipes.addAll(digitSum(firstElfValue, secondElfValue))
+    private var recipes = ByteArray(maxOf(16, initialRecipes.size * 2))
+    private var size = 0
 
-        firstElfIndex = (firstElfIndex + 1 + firstElfValue) % recipes.size
-        secondElfIndex = (secondElfIndex + 1 + secondElfValue) % recipes.size
+    init {
+        initialRecipes.forEach { append(it) }
+        require(firstElfIndex in 0 until size && secondElfIndex in 0 until size) { "Elves must start on recipes" }
     }
 
-    /**
-     * a and b must be single digit positive integers.
-     */
-    private fun digitSum(a: Int, b: Int): List<Int> {
-        val sum = a + b
-        return if (sum >= 10) listOf(1, sum % 10) else listOf(sum)
+    private fun append(score: Int) {
+        require(score in 0..9) { "Bad score $score" }
+        if (size == recipes.size) {
+            check(size < MAX_RECIPES) { "Too many recipes" }
+            recipes = recipes.copyOf(if (size > MAX_RECIPES / 2) MAX_RECIPES else size * 2)
+        }
+        recipes[size++] = score.toByte()
+    }
+
+    private fun advance() {
+        val firstElfValue = recipes[firstElfIndex].toInt()
+        val secondElfValue = recipes[secondElfIndex].toInt()
+
+        // Both scores are single digits, so the new recipes are the digits of a number below 19.
+        val sum = firstElfValue + secondElfValue
+        if (sum >= 10) {
+            append(1)
+            append(sum - 10)
+        } else {
+            append(sum)
+        }
+
+        firstElfIndex = (firstElfIndex + 1 + firstElfValue) % size
+        secondElfIndex = (secondElfIndex + 1 + secondElfValue) % size
     }
 
     /**
@@ -98,27 +113,64 @@ class RecipeScoreboard(private var recipes: MutableList<Int> = mutableListOf(3,
      * @param count Then return this many of the next recipes (concated together).
      */
     fun nextRecipeScores(after: Int, count: Int): String {
-        while (recipes.size < after + count) {
+        while (size < after + count) {
             this.advance()
         }
 
-        val scores = recipes.subList(after, after + count)
-
-        return scores.joinToString(separator = "")
+        return String(CharArray(count) { '0' + recipes[after + it].toInt() })
     }
 
+    /**
+     * Each recipe is fed once through a [DigitMatcher] for the sequence, as it is added, so each costs the same to
+     * check however long the sequence is.
+     */
     fun countLeftOfSequence(sequence: String): Int {
-        val sublist = sequence.chars().map { Character.getNumericValue(it) }.toList()
+        val matcher = DigitMatcher(sequence)
 
-        // As a speed-up optimization we don't check the whole list of recipes for the sublist (can you say O(N^2)?), we
-        // only look at the last few which includes the newly added 1 or 2 recipes. I didn't bother thinking too hard
-        // about how many to look at and just always look at double the length of the sublist we want.
-        while (Collections.indexOfSubList(recipes.takeLast(sequence.length * 2), sublist) == -1) {
+        var checked = 0
+        var state = 0
+        while (true) {
+            while (checked < size) {
+                state = matcher.next(state, recipes[checked++].toInt())
+                if (state == sequence.length) {
+                    return checked - sequence.length
+                }
+            }
             this.advance()
         }
+    }
+
+    companion object {
+        private const val MAX_RECIPES = Int.MAX_VALUE - 8
+    }
+}
+
+/**
+ * The Knuth-Morris-Pratt automaton for finding a sequence of digits in a stream of them. A state is how many digits of
+ * the sequence have just been matched; reaching the length of the sequence means it has been found.
+ */
+private class DigitMatcher(sequence: String) {
+
+    private val transitions: Array<IntArray>
 
-        return Collections.indexOfSubList(recipes, sublist)
+    init {
+        require(sequence.isNotEmpty() && sequence.all { it in '0'..'9' }) { "Bad sequence $sequence" }
+        val digits = sequence.map { it - '0' }
+
+        transitions = Array(digits.size) { IntArray(10) }
+        transitions[0][digits[0]] = 1
+        // The state we would be in had the sequence been fed in starting from its second digit.
+        var restart = 0
+        for (i in 1 until digits.size) {
+            for (digit in 0..9) {
+                transitions[i][digit] = transitions[restart][digit]
+            }
+            transitions[i][digits[i]] = i + 1
+            restart = transitions[restart][digits[i]]
+        }
     }
+
+    fun next(state: Int, digit: Int) = transitions[state][digit]
 }
 
 fun main() {
@@ -1,7 +1,5 @@
 package advent.year2018.day9
 
-import java.util.*
-
 /**
  * --- Day 9: Marble Mania ---
  * You talk to the Elves while you wait for your navigation system to initialize. To pass the time, they introduce you
@@ -70,17 +68,21 @@ import java.util.*
  */
 class MarbleGame(private val numElves: Int, private val lastMarble: Int) {
 
+    init {
+        require(numElves > 0) { "No elves" }
+        require(lastMarble >= 0) { "Negative last marble $lastMarble" }
+    }
+
     fun highScore(): Long {
-        val ring = MarbleRing()
+        val ring = MarbleRing(lastMarble)
 
-        val elfScores = mutableMapOf<Int, Long>()
+        val elfScores = LongArray(numElves)
 
         for (i in 1..lastMarble) {
-            val pointsScored = takeStep(ring, i)
-            elfScores.merge(i % numElves, pointsScored.toLong()) { a, b -> a + b }
+            elfScores[i % numElves] += takeStep(ring, i).toLong()
         }
 
-        return elfScores.values.maxOrNull() ?: 0
+        return elfScores.maxOrNull() ?: 0
     }
 
     private fun takeStep(ring: MarbleRing, marbleNumber: Int): Int {
@@ -95,28 +97,41 @@ class MarbleGame(private val numElves: Int, private val lastMarble: Int) {
 
 }
 
-class MarbleRing(private val marbles: LinkedList<Int> = LinkedList(listOf(0))) {
+/**
+ * Started out using an array list -- too slow for part 2. Then the built in doubly-linked list, rotating it and always
+ * inserting & removing at the head -- but that boxes every marble into its own node. Instead, since every marble has a
+ * number no bigger than the last one, the links are kept in arrays indexed by marble number: next[m] is the marble
+ * clockwise of marble m, and previous[m] the one counter-clockwise.
+ */
+class MarbleRing(lastMarble: Int) {
+
+    private val next = IntArray(lastMarble + 1)
+    private val previous = IntArray(lastMarble + 1)
+
+    /**
+     * The current marble; to begin with, marble 0 is on its own, clockwise and counter-clockwise of itself.
+     */
+    private var current = 0
 
     fun insert(marbleNumber: Int) {
-        marbles.rotate(2)
-        marbles.addFirst(marbleNumber)
+        val before = next[current]
+        val after = next[before]
+        next[before] = marbleNumber
+        previous[marbleNumber] = before
+        next[marbleNumber] = after
+        previous[after] = marbleNumber
+        current = marbleNumber
     }
 
     fun remove(): Int {
-        marbles.rotate(-7)
-        return marbles.remove()
-    }
-
-    /**
-     * Started out using an array list -- too slow for part 2. Instead using the built in doubly-linked
-     * list and rotating it and always inserting & removing at the head.
-     */
-    private fun <T> LinkedList<T>.rotate(i: Int) {
-        if (i < 0) {
-            repeat(-i) { this.addFirst(this.removeLast()) }
-        } else if (i > 0) {
-            repeat(i) { this.add(this.remove()) }
-        }
+        var removed = current
+        repeat(7) { removed = previous[removed] }
+        val before = previous[removed]
+        val after = next[removed]
+        next[before] = after
+        previous[after] = before
+        current = after
+        return removed
     }
 }
 
@@ -1,5 +1,9 @@
 package advent.year2020.day15
 
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.IntBuffer
+
 /**
  * --- Day 15: Rambunctious Recitation ---
  * You catch the airport shuttle and try to book a new flight to your vacation island. Due to the storm, all direct
@@ -63,37 +67,133 @@ package advent.year2020.day15
  */
 class ElvenMemoryGame(val startingNumbers: List<Int>) {
 
+  init {
+    require(startingNumbers.isNotEmpty()) { "No starting numbers" }
+    require(startingNumbers.all { it >= 0 }) { "Negative starting number in $startingNumbers" }
+  }
+
   fun spoken(): Sequence<Int> {
-    val startingRemaining = startingNumbers.toMutableList()
-    val numberToMostRecentSpeakIndex = mutableMapOf<Int, Int>()
-    var index = 1
-    var lastSpoken = 0
-
-    return generateSequence {
-      val starting = startingRemaining.removeFirstOrNull()
-
-      val next: Int = if (starting != null) {
-        starting
-      } else {
-        val previousIndex = numberToMostRecentSpeakIndex[lastSpoken]
-        if (previousIndex == null) {
-          0
-        } else {
-          index - previousIndex - 1
-        }
+    val game = Game(startingNumbers, HeapTurnTable(startingNumbers.max() + 1))
+    return generateSequence { game.next().toInt() }
+  }
+
+  /**
+   * The number spoken on the given turn (the first starting number being spoken on turn 1).
+   */
+  fun nth(turn: Long): Long = spokenAt(listOf(turn)).getValue(turn)
+
+  /**
+   * The numbers spoken on each of the given turns, from a single game played up to the last of them.
+   *
+   * No number spoken can be as large as the number of turns so far, so the table of when each number was last spoken
+   * is allocated up front at the size of the game. Very long games keep it off the heap, in pages allocated as they
+   * are first needed (which counts against -XX:MaxDirectMemorySize).
+   */
+  fun spokenAt(turns: Collection<Long>): Map<Long, Long> {
+    require(turns.all { it in 1..MAX_TURNS }) { "Turns must be from 1 to $MAX_TURNS: $turns" }
+    val checkpoints = turns.toSortedSet().toLongArray()
+    if (checkpoints.isEmpty()) return emptyMap()
+
+    val lastTurn = checkpoints.last()
+    val size = maxOf(lastTurn, startingNumbers.max() + 1L)
+    val table = if (size <= HEAP_TABLE_LIMIT) HeapTurnTable(size.toInt()) else OffHeapTurnTable(size)
+    val game = Game(startingNumbers, table)
+
+    val spoken = mutableMapOf<Long, Long>()
+    var nextCheckpoint = 0
+    while (nextCheckpoint < checkpoints.size) {
+      val number = game.next()
+      if (game.turn == checkpoints[nextCheckpoint]) {
+        spoken[game.turn] = number
+        nextCheckpoint++
       }
+    }
+    return spoken
+  }
+
+  companion object {
+    private const val HEAP_TABLE_LIMIT = 1L shl 28
+
+    /**
+     * The off heap table holds turns as unsigned ints.
+     */
+    const val MAX_TURNS = 0xFFFF_FFFFL
+  }
+}
+
+private class Game(private val startingNumbers: List<Int>, private val lastSpokenOn: TurnTable) {
+  var turn = 0L
+    private set
+  private var lastSpoken = 0L
+
+  fun next(): Long {
+    val next = if (turn < startingNumbers.size) {
+      startingNumbers[turn.toInt()].toLong()
+    } else {
+      val previousTurn = lastSpokenOn[lastSpoken]
+      if (previousTurn == 0L) 0L else turn - previousTurn
+    }
+
+    if (turn > 0) {
+      lastSpokenOn[lastSpoken] = turn
+    }
+    turn++
+    lastSpoken = next
+    return next
+  }
+}
+
+/**
+ * The turn on which each number was last spoken, or 0 if it has not been.
+ */
+private interface TurnTable {
+  operator fun get(number: Long): Long
+  operator fun set(number: Long, turn: Long)
+}
+
+/**
+ * Grows if a number turns up beyond its end, for games of unknown length.
+ */
+private class HeapTurnTable(initialSize: Int) : TurnTable {
+  private var turns = IntArray(initialSize)
+
+  override fun get(number: Long) = if (number < turns.size) turns[number.toInt()].toLong() else 0L
 
-      numberToMostRecentSpeakIndex[lastSpoken] = index - 1
-      index++
-      lastSpoken = next
-      next
+  override fun set(number: Long, turn: Long) {
+    if (number >= turns.size) {
+      turns = turns.copyOf(maxOf(number + 1, turns.size * 2L).coerceAtMost(Int.MAX_VALUE - 8L).toInt())
     }
+    turns[number.toInt()] = Math.toIntExact(turn)
+  }
+}
+
+private class OffHeapTurnTable(size: Long) : TurnTable {
+  private val pages = arrayOfNulls<IntBuffer>(((size - 1) shr PAGE_BITS).toInt() + 1)
+
+  override fun get(number: Long): Long {
+    val page = pages[(number shr PAGE_BITS).toInt()] ?: return 0L
+    return page[(number and PAGE_MASK).toInt()].toLong() and 0xFFFF_FFFFL
+  }
+
+  override fun set(number: Long, turn: Long) {
+    val pageIndex = (number shr PAGE_BITS).toInt()
+    val page = pages[pageIndex] ?: ByteBuffer.allocateDirect(Int.SIZE_BYTES shl PAGE_BITS)
+      .order(ByteOrder.nativeOrder())
+      .asIntBuffer()
+      .also { pages[pageIndex] = it }
+    page.put((number and PAGE_MASK).toInt(), turn.toInt())
+  }
+
+  companion object {
+    private const val PAGE_BITS = 24
+    private const val PAGE_MASK = (1L shl PAGE_BITS) - 1
   }
 }
 
 fun main() {
   val game = ElvenMemoryGame(listOf(12, 20, 0, 6, 1, 17, 7))
+  val spoken = game.spokenAt(listOf(2020L, 30_000_000L))
 
-  println(game.spoken().elementAt(2019))
-  println(game.spoken().elementAt(30000000 - 1))
-}
\ No newline at end of file
+  println(spoken[2020L])
+  println(spoken[30_000_000L])
+}
@@ -1,5 +1,12 @@
 package advent.year2020.day23
 
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+
 /**
  * --- Day 23: Crab Cups ---
  * The small crab challenges you to a game! The crab is going to mix up some cups, and you have to predict where
@@ -102,117 +109,138 @@ package advent.year2020.day23
  * together?
  * 
  */
-class CrabCups(cupsList: List<Int>) {
+class CrabCups private constructor(
+  /**
+   * The ring of cups, as next[label] = the label of the cup clockwise of it. (Index 0 is unused.)
+   *
+   * We originally used a built-in LinkedList, but that was too slow, particularly since we had to do O(N) lookups
+   * for a particular cup. Then a node object per cup, looked up by value; but since the labels are exactly 1 to the
+   * number of cups, the links can just live in one array indexed by label, which makes a move a handful of array reads
+   * and writes with no allocation.
+   */
+  private val next: IntArray,
+  private var currentCup: Int,
+  private val pickUpCount: Int
+) {
+  constructor(cupsList: List<Int>, pickUpCount: Int = 3) :
+      this(ring(cupsList.toIntArray()), cupsList.first(), pickUpCount)
   constructor(input: String) : this(parseToList(input))
 
   companion object {
     private fun parseToList(input: String) = input.split("")
-            .filter { it.isNotEmpty() }
-            .map { it.toInt() }
+      .filter { it.isNotEmpty() }
+      .map { it.toInt() }
 
-    fun extended(input: String): CrabCups {
+    /**
+     * The cups from the input, followed by all the rest up to the total number of cups.
+     */
+    fun extended(input: String, totalCups: Int = 1_000_000, pickUpCount: Int = 3): CrabCups {
       val original = parseToList(input)
-      val additional = (original.size + 1)..1_000_000
-      return CrabCups(original + additional)
+      require(totalCups >= original.size) { "Only $totalCups cups but ${original.size} in the input" }
+      val labels = IntArray(totalCups) { if (it < original.size) original[it] else it + 1 }
+      return CrabCups(ring(labels), labels.first(), pickUpCount)
     }
-  }
 
-  private val numCups = cupsList.size
+    fun restore(snapshot: Snapshot) = CrabCups(snapshot.next.copyOf(), snapshot.currentCup, snapshot.pickUpCount)
 
-  // A random-access list for looking up our linked list nodes by value.
-  // These linked list nodes will be hooked up in the init method, in the proper (circular) order.
-  // We originally used a built-in LinkedList, but that was too slow, particularly since we had to do O(N) lookups
-  // for a particular cup. This lets us do inserts, removes, and lookups by value all as O(1) operations.
-  private val cups = (1..numCups).map(::Cup)
-
-  /**
-   * Get the node for the Cup with the provided number.
-   */
-  private fun getCup(cupNumber: Int) = cups[cupNumber - 1]
+    private fun ring(labels: IntArray): IntArray {
+      require(labels.isNotEmpty()) { "No cups" }
+      val next = IntArray(labels.size + 1)
+      labels.forEachIndexed { i, label ->
+        require(label in 1..labels.size && next[label] == 0) { "Labels must be 1 to ${labels.size}, each once" }
+        next[label] = labels[(i + 1) % labels.size]
+      }
+      return next
+    }
+  }
 
-  private var currentCup = getCup(cupsList.first())
+  private val numCups = next.size - 1
 
   init {
-    // Hook up our linked list.
-    cupsList.zipWithNext().forEach { (first, second) -> getCup(first).next = getCup(second) }
-    getCup(cupsList.last()).next = getCup(cupsList.first())
+    require(pickUpCount in 1..numCups - 2) { "Cannot pick up $pickUpCount of $numCups cups" }
   }
 
   fun next() {
-    val pickedUp = Triple(pickUp(), pickUp(), pickUp())
+    val firstPickedUp = next[currentCup]
+    var lastPickedUp = firstPickedUp
+    for (i in 1 until pickUpCount) {
+      lastPickedUp = next[lastPickedUp]
+    }
+    next[currentCup] = next[lastPickedUp]
 
-    val destinationNumber = destinationCupLabel(pickedUp.values())
-    val destination = getCup(destinationNumber)
+    var destination = currentCup
+    do {
+      destination = if (destination == 1) numCups else destination - 1
+    } while (isPickedUp(destination, firstPickedUp))
 
-    place(destination, pickedUp)
+    next[lastPickedUp] = next[destination]
+    next[destination] = firstPickedUp
 
-    currentCup = currentCup.next
+    currentCup = next[currentCup]
   }
 
   fun next(moves: Int) = repeat(moves) { next() }
 
-  fun labels(): String = generateSequence(getCup(1)) { it.next }
-          .drop(1)
-          .map { it.value }
-          .takeWhile { it != 1 }
-          .joinToString(separator = "") { it.toString() }
-
-  fun labelProduct(): Long {
-    val cupOne = getCup(1)
-
-    return cupOne.next.value.toLong() * cupOne.next.next.value.toLong()
-  }
-
-  private fun pickUp() = currentCup.takeNext()
-
-  private fun place(destination: Cup, pickedUp: Triple<Cup, Cup, Cup>) {
-    destination.addNext(pickedUp.third)
-    destination.addNext(pickedUp.second)
-    destination.addNext(pickedUp.first)
-  }
-
-  private fun destinationCupLabel(pickedUp: Set<Int>): Int {
-    val target = currentCup.value - 1
-    val possibilities = sequenceOf(
-            wrap(target),
-            wrap(target - 1),
-            wrap(target - 2),
-            wrap(target - 3)
-    )
-
-    return possibilities.first { !pickedUp.contains(it) }
+  private fun isPickedUp(label: Int, firstPickedUp: Int): Boolean {
+    var cup = firstPickedUp
+    for (i in 0 until pickUpCount) {
+      if (cup == label) return true
+      cup = next[cup]
+    }
+    return false
   }
 
-  private fun wrap(number: Int) = if (number < 1) {
-    numCups + number
-  } else {
-    number
+  fun labels(): String {
+    val labels = StringBuilder()
+    var cup = next[1]
+    while (cup != 1) {
+      labels.append(cup)
+      cup = next[cup]
+    }
+    return labels.toString()
   }
-}
-
-/**
- * Linked list nodes.
- */
-private class Cup(val value: Int) {
-  var next: Cup = this
 
-  fun takeNext(): Cup {
-    val twoDown = this.next.next
-    val output = this.next
-    this.next = twoDown
+  fun labelProduct(): Long = next[1].toLong() * next[next[1]].toLong()
 
-    return output
-  }
+  /**
+   * A copy of the whole state of the game, to go back to later with [restore].
+   */
+  fun snapshot() = Snapshot(next.copyOf(), currentCup, pickUpCount)
+
+  class Snapshot internal constructor(internal val next: IntArray,
+                                      internal val currentCup: Int,
+                                      internal val pickUpCount: Int) {
+
+    /**
+     * Saves the snapshot, so that a long run can be resumed in another process with [readFrom].
+     */
+    fun writeTo(output: OutputStream) {
+      val data = DataOutputStream(BufferedOutputStream(output))
+      data.writeInt(next.size - 1)
+      data.writeInt(currentCup)
+      data.writeInt(pickUpCount)
+      for (label in 1 until next.size) {
+        data.writeInt(next[label])
+      }
+      data.flush()
+    }
 
-  fun addNext(cup: Cup) {
-    val previousNext = this.next
-    this.next = cup
-    cup.next = previousNext
+    companion object {
+      fun readFrom(input: InputStream): Snapshot {
+        val data = DataInputStream(BufferedInputStream(input))
+        val numCups = data.readInt()
+        val currentCup = data.readInt()
+        val pickUpCount = data.readInt()
+        val next = IntArray(numCups + 1)
+        for (label in 1..numCups) {
+          next[label] = data.readInt()
+        }
+        return Snapshot(next, currentCup, pickUpCount)
+      }
+    }
   }
 }
 
-private fun Triple<Cup, Cup, Cup>.values() = setOf(this.first.value, this.second.value, this.third.value)
-
 fun main() {
   val input = "389547612"
   val cups = CrabCups(input)
@@ -223,4 +251,4 @@ fun main() {
   val extended = CrabCups.extended(input)
   extended.next(10_000_000)
   println(extended.labelProduct())
-}
\ No newline at end of file
+}
@@ -180,7 +180,7 @@ class TopographicMap(private val heights: Map<Point, Int>) {
 }
 
 fun main() {
-    val map = TopographicMap(readInput())
+    val map = TopographicMap(readInput(2024, 10))
 
     println(map.trailheadScore())
     println(map.trailheadRating())
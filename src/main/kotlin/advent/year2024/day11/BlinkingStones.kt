@@ -108,7 +108,7 @@ class BlinkingStones(val countsByNumber: Map<Long, Long>) {
 }
 
 fun main() {
-    val stones = BlinkingStones(readInput())
+    val stones = BlinkingStones(readInput(2024, 11))
 
     println(stones.blink(25).stoneCount())
     println(stones.blink(75).stoneCount())
@@ -236,7 +236,7 @@ class GardenRegion(val points: Set<Point>) {
 }
 
 fun main() {
-    val gardenRegions = GardenRegions(readInput())
+    val gardenRegions = GardenRegions(readInput(2024, 12))
 
     println(gardenRegions.price())
     println(gardenRegions.bulkDiscountPrice())
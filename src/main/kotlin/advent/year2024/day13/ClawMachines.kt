@@ -182,7 +182,7 @@ data class ClawMachine(
 }
 
 fun main() {
-    val machines = ClawMachines(readInput())
+    val machines = ClawMachines(readInput(2024, 13))
     println(machines.cost())
     println(machines.corrected().cost())
 }
\ No newline at end of file
@@ -183,7 +183,7 @@ data class RestroomRobot(val position: Point, val velocity: Point, val room: Res
 }
 
 fun main() {
-    val robots = RestroomRobots.of(readInput())
+    val robots = RestroomRobots.of(readInput(2024, 14))
 
     println(robots.next(100).safetyFactor())
 
@@ -525,9 +525,9 @@ fun String.widerWarehouse() = this.replace("#", "##")
     .replace("@", "@.")
 
 fun main() {
-    val warehouse = RobotOperatedWarehouse.of(readInput())
+    val warehouse = RobotOperatedWarehouse.of(readInput(2024, 15))
     println(warehouse.afterMoves().gpsSum())
 
-    val widened = RobotOperatedWarehouse.of(readInput().widerWarehouse())
+    val widened = RobotOperatedWarehouse.of(readInput(2024, 15).widerWarehouse())
     println(widened.afterMoves().gpsSum())
 }
\ No newline at end of file
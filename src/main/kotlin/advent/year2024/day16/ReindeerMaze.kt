@@ -216,7 +216,7 @@ class ReindeerMaze(val start: Point, val end: Point, val walls: Set<Point>) {
 fun Set<Path<ReindeerMaze.ReindeerState>>.lowestScore() = this.first().totalCost
 
 fun main() {
-    val maze = ReindeerMaze.of(readInput())
+    val maze = ReindeerMaze.of(readInput(2024, 16))
 
     // This is still pretty slow (like 5 minutes!) Oh well, some day instead of reusing my breadth-first search
     // for these purposes, I will actually use Dijkstra's algorithm with the enhancement that preserves arrows
@@ -298,7 +298,7 @@ data class ChronospatialComputer(
 }
 
 fun main() {
-    val originalComputer = ChronospatialComputer.of(readInput())
+    val originalComputer = ChronospatialComputer.of(readInput(2024, 17))
 
     val computer = originalComputer.copy()
     computer.execute()
@@ -150,7 +150,7 @@ private fun List<Point>.toAppearanceTimes(): Map<Point, Int> = this.withIndex()
     .associate { it.value to it.index }
 
 fun main() {
-    val space = MemorySpace(readInput())
+    val space = MemorySpace(readInput(2024, 18))
 
     println(space.minimumStepsAtTime(1024))
     // This is a little bit slow (~30 seconds) and we could speed it up by doing a binary search
@@ -113,7 +113,7 @@ class Onsen(private val towels: Set<String>, private val designs: List<String>)
 }
 
 fun main() {
-    val onsen = Onsen(readInput())
+    val onsen = Onsen(readInput(2024, 19))
 
     println(onsen.possibleDesignCount())
     println(onsen.possiblitiesCount())
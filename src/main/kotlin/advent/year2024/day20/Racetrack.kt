@@ -261,7 +261,7 @@ class Racetrack(val start: Point, val end: Point, val walls: Set<Point>) {
 }
 
 fun main() {
-    val racetrack = Racetrack.of(readInput())
+    val racetrack = Racetrack.of(readInput(2024, 20))
 
     println(racetrack.countCheatsSavingAtLeast(100))
     println(racetrack.countCheatsSavingAtLeast(100, cheatDistance = 20))
@@ -240,7 +240,7 @@ private fun String.reportCounts(first: String, second: String) {
 fun main() {
     investigateOrder()
 
-    val keypads = RobotKeypads(readInput())
+    val keypads = RobotKeypads(readInput(2024, 21))
 
     println(keypads.complexitySum())
     println(keypads.complexitySum(25))
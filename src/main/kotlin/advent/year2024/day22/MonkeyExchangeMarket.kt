@@ -177,7 +177,7 @@ class MonkeyBuyer(val secret: Long) {
 }
 
 fun main() {
-    val market = MonkeyExchangeMarket(readInput())
+    val market = MonkeyExchangeMarket(readInput(2024, 22))
 
     println(market.buyers.sumOf { it.secretNumber(2000) })
     println(market.optimalRevenue())
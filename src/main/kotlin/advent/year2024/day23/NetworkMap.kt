@@ -183,7 +183,7 @@ fun <T> Set<T>.trios(): Sequence<Triple<T, T, T>> {
 }
 
 fun main() {
-    val networkMap = NetworkMap.of(readInput())
+    val networkMap = NetworkMap.of(readInput(2024, 23))
 
     println(networkMap.countTTriangles())
     println(networkMap.password())
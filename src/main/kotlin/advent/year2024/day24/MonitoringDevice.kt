@@ -338,7 +338,7 @@ enum class GateOperation(val operation: (Int, Int) -> Int) {
 }
 
 fun main() {
-    val device = MonitoringDevice(readInput())
+    val device = MonitoringDevice(readInput(2024, 24))
 
     println(device.zValue())
 
@@ -177,6 +177,6 @@ class LocksAndKeys(private val locks: List<Lock>, val keys: List<Key>) {
 
 
 fun main() {
-    val locksAndKeys = LocksAndKeys.of(readInput())
+    val locksAndKeys = LocksAndKeys.of(readInput(2024, 25))
     println(locksAndKeys.countPairs())
 }
\ No newline at end of file
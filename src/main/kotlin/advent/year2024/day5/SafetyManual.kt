@@ -153,7 +153,7 @@ fun <E> List<E>.moveToAfter(before: E, after: E): List<E> {
 }
 
 fun main() {
-    val manual = SafetyManual(readInput())
+    val manual = SafetyManual(readInput(2024, 5))
 
     println(manual.middleNumberSum())
     println(manual.correctedMiddleNumberSum())
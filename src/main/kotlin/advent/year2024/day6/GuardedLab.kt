@@ -266,7 +266,7 @@ data class GuardedLab(val width: Int, val height: Int, val obstructions: Set<Poi
 }
 
 fun main() {
-    val lab = GuardedLab.of(readInput())
+    val lab = GuardedLab.of(readInput(2024, 6))
 
     println(lab.distinctGuardPositions().size)
     // This is pretty slow (5 minutes) but I'm just going to accept that, as developer time is more
@@ -98,7 +98,7 @@ class CalibrationEquation(val testValue: Long, val numbers: List<Long>) {
 }
 
 fun main() {
-    val equations = CalibrationEquations(readInput())
+    val equations = CalibrationEquations(readInput(2024, 7))
 
     println(equations.totalCalibrationResult())
     println(equations.totalCalibrationResult(allowConcatenation = true))
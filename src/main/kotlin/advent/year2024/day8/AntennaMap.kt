@@ -177,7 +177,7 @@ class AntennaMap(val width: Int, val height: Int, private val antennas: List<Ant
 data class Antenna(val frequency: Char, val location: Point)
 
 fun main() {
-    val map = AntennaMap.of(readInput())
+    val map = AntennaMap.of(readInput(2024, 8))
 
     println(map.antinodes().size)
     println(map.antinodes(harmonics = true).size)
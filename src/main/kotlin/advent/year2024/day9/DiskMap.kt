@@ -170,7 +170,7 @@ class DiskMap(private val blockIds: List<Int?>) {
 }
 
 fun main() {
-    val diskMap = DiskMap(readInput())
+    val diskMap = DiskMap(readInput(2024, 9))
 
     println(diskMap.compactedByBlock().checksum())
     println(diskMap.compactedByFile().checksum())
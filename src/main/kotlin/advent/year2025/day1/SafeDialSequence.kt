@@ -134,7 +134,7 @@ private fun String.dialStepValue(): Int {
 }
 
 fun main() {
-  val sequence = SafeDialSequence(readInput())
+  val sequence = SafeDialSequence(readInput(2025, 1))
 
   println(sequence.password())
   println(sequence.clickPassword())
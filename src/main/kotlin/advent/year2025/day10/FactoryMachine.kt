@@ -185,7 +185,7 @@ class FactoryMachine(
 }
 
 fun main() {
-  val machines = readInput().trim().lines().map(FactoryMachine::of)
+  val machines = readInput(2025, 10).trim().lines().map(FactoryMachine::of)
 
   println(machines.sumOf(FactoryMachine::minimumButtonLightPresses))
   println(machines.sumOf(FactoryMachine::minimumButtonJoltagePresses))
@@ -132,7 +132,7 @@ class DataDevice(val from: String, val to: List<String>) {
 }
 
 fun main() {
-  val devices = DataDevices(readInput())
+  val devices = DataDevices(readInput(2025, 11))
 
   println(devices.countPaths(origin = "you", target = "out"))
   println(devices.countServerPaths())
@@ -163,7 +163,7 @@ class PresentRegion(val width: Int, val height: Int, val tileCounts: List<Int>)
 }
 
 fun main() {
-  val tiles = PresentTiles.of(readInput())
+  val tiles = PresentTiles.of(readInput(2025, 12))
 
   // The problem in general is fairly complicated - I think we need to do a depth-first search trying to align tiles.
   // I seem to recall that this problem (often called pentominoes for tiles with 5 spaces, or maybe n-ominoes more
@@ -88,7 +88,7 @@ fun String.isSequenceRepeated(): Boolean {
 }
 
 fun main() {
-  val ranges = ProductIdRanges(readInput())
+  val ranges = ProductIdRanges(readInput(2025, 2))
 
   println(ranges.invalidIdSum())
   println(ranges.invalidIdSum(String::isSequenceRepeated))
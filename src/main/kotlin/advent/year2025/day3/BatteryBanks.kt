@@ -94,7 +94,7 @@ class BatteryBank(val batteries: List<Int>) {
 }
 
 fun main() {
-  val banks = BatteryBanks(readInput())
+  val banks = BatteryBanks(readInput(2025, 3))
 
   println(banks.totalOutputJoltage())
   println(banks.totalOutputJoltage(numDigits = 12))
@@ -206,7 +206,7 @@ class PaperGrid(val rolls: Set<Point>) {
 }
 
 fun main() {
-  val grid = PaperGrid(readInput())
+  val grid = PaperGrid(readInput(2025, 4))
 
   println(grid.countAccessible())
   println(grid.totalRemovable())
@@ -83,7 +83,7 @@ class KitchenDatabase(
 }
 
 fun main() {
-  val database = KitchenDatabase.of(readInput())
+  val database = KitchenDatabase.of(readInput(2025, 5))
 
   println(database.countFresh())
   println(database.totalFresh())
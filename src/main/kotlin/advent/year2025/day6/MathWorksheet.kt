@@ -116,7 +116,7 @@ fun List<String>.rotateLeft(): List<String> = this.first().indices.reversed().ma
 }
 
 fun main() {
-  val worksheet = MathWorksheet.of(readInput())
+  val worksheet = MathWorksheet.of(readInput(2025, 6))
 
   println(worksheet.grandTotal())
   println(worksheet.verticalTotal())
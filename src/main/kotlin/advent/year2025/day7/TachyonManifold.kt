@@ -237,7 +237,7 @@ data class BeamProgress(
 }
 
 fun main() {
-  val manifold = TachyonManifold.of(readInput())
+  val manifold = TachyonManifold.of(readInput(2025, 7))
 
   val finalBeams = manifold.finalBeams()
   println(finalBeams.numSplits)
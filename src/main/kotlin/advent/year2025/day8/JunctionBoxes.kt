@@ -141,7 +141,7 @@ class JunctionBoxes(val boxes: List<Point3D>) {
 }
 
 fun main() {
-  val boxes = JunctionBoxes(readInput())
+  val boxes = JunctionBoxes(readInput(2025, 8))
 
   println(boxes.graph(numConnections = 1000).connectedSubgraphs().map { it.size }.sortedDescending())
   println(boxes.circuitSizeProduct(numConnections = 1000))
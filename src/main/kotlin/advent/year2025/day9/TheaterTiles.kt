@@ -214,7 +214,7 @@ class TheaterTiles(val redTiles: List<Point>) {
 }
 
 fun main() {
-  val tiles = TheaterTiles(readInput())
+  val tiles = TheaterTiles(readInput(2025, 9))
 
   println(tiles.largestRectangleArea())
   println(tiles.largestRedAndGreenRectangleArea())
@@ -0,0 +1,71 @@
+package advent.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class ByteLinesTest {
+
+	@Test
+	public void sumOverLines() throws IOException {
+		Path file = Files.createTempFile("lines", ".txt");
+		try {
+			Files.write(file, "abc\r\nde\n\nfghi".getBytes(StandardCharsets.US_ASCII));
+
+			assertEquals(9, ByteLines.sum(file, (bytes, start, end) -> end - start));
+			assertEquals(2, ByteLines.count(file, (bytes, start, end) -> end - start > 2));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void singleString() {
+		assertTrue(ByteLines.test("xyz", (bytes, start, end) -> bytes[start] == 'x' && end == 3));
+	}
+
+	@Test
+	public void linesStraddlingChunkBoundaries() throws IOException {
+		List<String> expected = ImmutableList.of("first", "a", "longer line here", "bc", "last");
+		for (String ending : ImmutableList.of("", "\n", "\r\n")) {
+			String contents = String.join("\n", expected) + ending;
+			for (int chunkSize = 1; chunkSize <= contents.length() + 1; chunkSize++) {
+				assertEquals(expected, lines(contents, chunkSize), "chunk size " + chunkSize + " ending " + ending);
+			}
+		}
+	}
+
+	@Test
+	public void emptyFile() throws IOException {
+		assertEquals(ImmutableList.of(), lines("", 1));
+		assertEquals(ImmutableList.of(), lines("", 1 << 24));
+	}
+
+	private static List<String> lines(String contents, int chunkSize) throws IOException {
+		Path file = Files.createTempFile("lines", ".txt");
+		try {
+			Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+			return ByteLines.collect(file, chunkSize, //
+					ArrayList::new, //
+					(List<String> list, byte[] bytes, int start, int end) -> list
+							.add(new String(bytes, start, end - start, StandardCharsets.US_ASCII)), //
+					(left, right) -> {
+						left.addAll(right);
+						return left;
+					});
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+}
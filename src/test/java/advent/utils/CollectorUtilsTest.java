@@ -0,0 +1,29 @@
+package advent.utils;
+
+import static advent.utils.CollectorUtils.toIntArray;
+import static advent.utils.CollectorUtils.toLongArray;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class CollectorUtilsTest {
+
+	@Test
+	public void toIntArrayKeepsOrder() {
+		assertArrayEquals(new int[] { 1, 3, 2 }, Stream.of("a", "abc", "ab").collect(toIntArray(String::length)));
+		assertArrayEquals(new int[0], Stream.<String>empty().collect(toIntArray(String::length)));
+	}
+
+	@Test
+	public void toLongArrayInParallel() {
+		long[] expected = IntStream.range(0, 100_000).mapToLong(i -> i * 3L).toArray();
+
+		long[] actual = IntStream.range(0, 100_000).boxed().parallel().collect(toLongArray(i -> i * 3L));
+
+		assertArrayEquals(expected, actual);
+	}
+
+}
@@ -0,0 +1,81 @@
+package advent.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LongIntMapTest {
+
+	@Test
+	public void putAndGet() {
+		LongIntMap map = new LongIntMap();
+		map.put(IntPair.of(3, -4), 7);
+		map.put(IntPair.of(-4, 3), 8);
+		map.put(IntPair.of(3, -4), 9);
+
+		assertEquals(2, map.size());
+		assertEquals(9, map.getOrDefault(IntPair.of(3, -4), 0));
+		assertEquals(8, map.getOrDefault(IntPair.of(-4, 3), 0));
+		assertEquals(-1, map.getOrDefault(IntPair.of(3, 4), -1));
+		assertFalse(map.containsKey(IntPair.of(3, 4)));
+	}
+
+	@Test
+	public void emptyMarkerIsAnOrdinaryKey() {
+		LongIntMap map = new LongIntMap();
+		assertFalse(map.containsKey(Long.MIN_VALUE));
+
+		map.put(Long.MIN_VALUE, 5);
+
+		assertTrue(map.containsKey(Long.MIN_VALUE));
+		assertEquals(5, map.getOrDefault(Long.MIN_VALUE, 0));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void computeIfAbsentComputesOnce() {
+		LongIntMap map = new LongIntMap();
+		int[] calls = new int[1];
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(12, map.computeIfAbsent(IntPair.of(5, 7), pair -> {
+				calls[0]++;
+				return IntPair.first(pair) + IntPair.second(pair);
+			}));
+		}
+
+		assertEquals(1, calls[0]);
+	}
+
+	@Test
+	public void agreesWithHashMap() {
+		Random random = new Random(40);
+		LongIntMap map = new LongIntMap();
+		Map<Long, Integer> expected = new HashMap<>();
+
+		for (int i = 0; i < 100_000; i++) {
+			long key = IntPair.of(random.nextInt(500) - 250, random.nextInt(500) - 250);
+			int value = random.nextInt();
+			map.put(key, value);
+			expected.put(key, value);
+		}
+
+		assertEquals(expected.size(), map.size());
+		expected.forEach((key, value) -> assertEquals(value.intValue(), map.getOrDefault(key, 0)));
+	}
+
+	@Test
+	public void intPair() {
+		long pair = IntPair.of(Integer.MIN_VALUE, -1);
+		assertEquals(Integer.MIN_VALUE, IntPair.first(pair));
+		assertEquals(-1, IntPair.second(pair));
+		assertEquals("[-2147483648, -1]", IntPair.toString(pair));
+	}
+
+}
@@ -0,0 +1,123 @@
+package advent.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class MetricsTest {
+
+	@Test
+	public void countersAddUpAcrossThreads() {
+		Metrics metrics = new Metrics(true);
+		Metrics.Counter counter = metrics.counter("steps");
+
+		IntStream.range(0, 10_000).parallel().forEach(i -> counter.increment());
+		metrics.counter("steps").add(5);
+
+		assertEquals(10_005, counter.get());
+		assertEquals(10_005L, metrics.snapshot().getValues().get("steps"));
+	}
+
+	@Test
+	public void gaugeKeepsItsMaximum() {
+		Metrics metrics = new Metrics(true);
+		Metrics.Gauge gauge = metrics.gauge("frontier");
+
+		gauge.set(3);
+		gauge.set(17);
+		gauge.set(4);
+
+		assertEquals(4, gauge.get());
+		assertEquals(17, gauge.max());
+		assertEquals(Map.of("value", 4L, "max", 17L), metrics.snapshot().getValues().get("frontier"));
+	}
+
+	@Test
+	public void histogramPercentilesAreWithinAFactorOfTwo() {
+		Metrics metrics = new Metrics(true);
+		Metrics.Histogram histogram = metrics.histogram("successors");
+
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+
+		assertEquals(100, histogram.count());
+		assertEquals(63, histogram.percentile(0.5));
+		assertEquals(100, histogram.percentile(0.99));
+		assertEquals(0, metrics.histogram("empty").percentile(0.5));
+	}
+
+	@Test
+	public void disabledMetricsRecordNothing() {
+		Metrics metrics = new Metrics(false);
+		Metrics.Counter counter = metrics.counter("steps");
+		counter.add(10);
+		metrics.gauge("frontier").set(10);
+		metrics.histogram("successors").record(10);
+
+		assertEquals(0, counter.get());
+		assertSame(counter, metrics.counter("other"));
+		assertTrue(metrics.snapshot().getValues().isEmpty());
+	}
+
+	@Test
+	public void closingTheSamplerTakesAFinalSnapshot() {
+		Metrics metrics = new Metrics(true);
+		List<Metrics.Snapshot> samples = new ArrayList<>();
+
+		try (Metrics.Sampler sampler = metrics.sampleEvery(Duration.ofHours(1), samples::add)) {
+			metrics.counter("steps").add(3);
+		}
+
+		assertEquals(1, samples.size());
+		assertEquals(3L, samples.get(0).getValues().get("steps"));
+		assertTrue(samples.get(0).toJson().contains("\"steps\":3"));
+	}
+
+	@Test
+	public void gaugeNeverSetReportsZero() {
+		Metrics metrics = new Metrics(true);
+		metrics.gauge("frontier");
+
+		assertEquals(Map.of("value", 0L, "max", 0L), metrics.snapshot().getValues().get("frontier"));
+	}
+
+	@Test
+	public void aNameIsOnlyOneKindOfMetric() {
+		Metrics metrics = new Metrics(true);
+		metrics.counter("steps");
+
+		assertThrows(IllegalArgumentException.class, () -> metrics.gauge("steps"));
+		assertThrows(IllegalArgumentException.class, () -> metrics.histogram("steps"));
+		assertSame(metrics.counter("steps"), metrics.counter("steps"));
+	}
+
+	@Test
+	public void samplingCarriesOnAfterAFailingSample() throws InterruptedException {
+		Metrics metrics = new Metrics(true);
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch laterSamples = new CountDownLatch(2);
+
+		try (Metrics.Sampler sampler = metrics.sampleEvery(Duration.ofMillis(5), snapshot -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException("Sink unavailable");
+			}
+			laterSamples.countDown();
+		})) {
+			assertTrue(laterSamples.await(10, TimeUnit.SECONDS));
+		}
+	}
+
+}
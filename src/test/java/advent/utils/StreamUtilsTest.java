@@ -31,4 +31,20 @@ public class StreamUtilsTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	public void iterateIntsUntil() {
+		int[] actual = StreamUtils.iterateIntsUntil(27, i -> i % 2 == 0 ? i / 2 : 3 * i + 1, i -> i == 1).toArray();
+
+		assertEquals(111, actual.length);
+		assertEquals(27, actual[0]);
+		assertEquals(2, actual[110]);
+	}
+
+	@Test
+	public void iterateLongsUntil() {
+		long sum = StreamUtils.iterateLongsUntil(1L << 40, l -> l / 2, l -> l == 0).sum();
+
+		assertEquals((1L << 41) - 1, sum);
+	}
+
 }
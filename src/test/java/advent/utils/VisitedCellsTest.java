@@ -0,0 +1,54 @@
+package advent.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class VisitedCellsTest {
+
+	@Test
+	public void visitOnce() {
+		VisitedCells cells = new VisitedCells();
+
+		assertTrue(cells.visit(3, -4));
+		assertFalse(cells.visit(3, -4));
+		assertTrue(cells.hasVisited(3, -4));
+		assertFalse(cells.hasVisited(-4, 3));
+		assertEquals(1, cells.size());
+	}
+
+	@Test
+	public void packing() {
+		long cell = VisitedCells.pack(-7, Integer.MAX_VALUE);
+
+		assertEquals(-7, VisitedCells.unpackX(cell));
+		assertEquals(Integer.MAX_VALUE, VisitedCells.unpackY(cell));
+	}
+
+	@Test
+	public void cellPackingToSentinel() {
+		VisitedCells cells = new VisitedCells();
+
+		assertTrue(cells.visit(Integer.MIN_VALUE, 0));
+		assertFalse(cells.visit(Integer.MIN_VALUE, 0));
+		assertEquals(1, cells.size());
+	}
+
+	@Test
+	public void grows() {
+		VisitedCells cells = new VisitedCells();
+
+		for (int x = -100; x < 100; x++) {
+			for (int y = -100; y < 100; y++) {
+				cells.visit(x, y);
+			}
+		}
+
+		assertEquals(40_000, cells.size());
+		assertTrue(cells.hasVisited(-100, 99));
+		assertFalse(cells.hasVisited(100, 0));
+	}
+
+}
@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
+
 public class PasswordTest {
 
 	@Test
@@ -41,4 +43,39 @@ public class PasswordTest {
 		assertEquals("ghjaabcc", next.toString());
 	}
 
+	@Test
+	public void straightAtEnd() {
+		assertTrue(Password.hasIncreasingStraight(new Password("aaaaaxyz")));
+	}
+
+	@Test
+	public void generatorReferences() {
+		assertEquals("abcdffaa", PasswordGenerator.SECURITY_ELF.next(new Password("abcdefgh")).toString());
+		assertEquals("ghjaabcc", PasswordGenerator.SECURITY_ELF.next(new Password("ghijklmn")).toString());
+	}
+
+	@Test
+	public void generatorMatchesIncrementing() {
+		Password start = new Password("hxbxxyzz");
+
+		assertEquals(start.incrementToNextValid(Password::securityElfApproves).toString(),
+				PasswordGenerator.SECURITY_ELF.next(start).toString());
+	}
+
+	@Test
+	public void generatorLongerPassword() {
+		Password next = PasswordGenerator.SECURITY_ELF.next(new Password("ghijklmnopqr"));
+
+		assertEquals("ghjaaaaaabcc", next.toString());
+		assertTrue(Password.securityElfApproves(next));
+	}
+
+	@Test
+	public void generatorCustomRules() {
+		PasswordGenerator straightsOnly = new PasswordGenerator("",
+				ImmutableList.of(PasswordGenerator.Rule.INCREASING_STRAIGHT));
+
+		assertEquals("aabc", straightsOnly.next(new Password("aaaa")).toString());
+	}
+
 }
@@ -1,9 +1,12 @@
 package advent.year2015.day14;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
+
 public class ReindeerTest {
 
 	@Test
@@ -18,4 +21,24 @@ public class ReindeerTest {
 		assertEquals(1056, dancer.distanceTraveled(1000));
 	}
 
+	@Test
+	public void points() {
+		Reindeer comet = new Reindeer("Comet can fly 14 km/s for 10 seconds, but then must rest for 127 seconds.");
+		Reindeer dancer = new Reindeer("Dancer can fly 16 km/s for 11 seconds, but then must rest for 162 seconds.");
+
+		ReindeerRace race = new ReindeerRace(ImmutableList.of(comet, dancer));
+
+		assertArrayEquals(new long[] { 312, 689 }, race.points(1000));
+	}
+
+	@Test
+	public void tiedLeadersAllScore() {
+		Reindeer one = new Reindeer("One can fly 10 km/s for 5 seconds, but then must rest for 5 seconds.");
+		Reindeer two = new Reindeer("Two can fly 10 km/s for 5 seconds, but then must rest for 5 seconds.");
+
+		ReindeerRace race = new ReindeerRace(ImmutableList.of(one, two));
+
+		assertArrayEquals(new long[] { 100, 100 }, race.points(100));
+	}
+
 }
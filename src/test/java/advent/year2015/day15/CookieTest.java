@@ -3,6 +3,7 @@ package advent.year2015.day15;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.util.List;
+import java.util.OptionalInt;
 
 import org.junit.jupiter.api.Test;
 
@@ -25,4 +26,28 @@ public class CookieTest {
 		assertEquals(57600000, calorieConstrainedScore);
 	}
 
+	@Test
+	public void duplicatedIngredientsChangeNothing() {
+		Ingredient butterscotch = Ingredient
+				.fromString("Butterscotch: capacity -1, durability -2, flavor 6, texture 3, calories 8");
+		Ingredient cinnamon = Ingredient
+				.fromString("Cinnamon: capacity 2, durability 3, flavor -2, texture -1, calories 3");
+
+		List<Ingredient> ingredients = ImmutableList.of(butterscotch, cinnamon, butterscotch, cinnamon, butterscotch);
+
+		assertEquals(62842880, new RecipeOptimizer(ingredients, 100, OptionalInt.empty()).optimumScore());
+		assertEquals(57600000, new RecipeOptimizer(ingredients, 100, OptionalInt.of(500)).optimumScore());
+	}
+
+	@Test
+	public void boundsBeyondALongDoNotPrune() {
+		List<Ingredient> ingredients = ImmutableList.of(new Ingredient(1000, 1, 1, 1, 0),
+				new Ingredient(1, 1000, 1, 1, 0), new Ingredient(1, 1, 1000, 1, 0), new Ingredient(1, 1, 1, 1000, 0));
+
+		// Early bounds are around (1000 * 100)^4, past Long.MAX_VALUE; the best score, from 25 of each, still fits.
+		long each = 25 * 1000 + 3 * 25;
+		assertEquals(each * each * each * each,
+				new RecipeOptimizer(ingredients, 100, OptionalInt.empty()).optimumScore());
+	}
+
 }
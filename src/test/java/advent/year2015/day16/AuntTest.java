@@ -1,12 +1,17 @@
 package advent.year2015.day16;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Range;
 
 public class AuntTest {
 
@@ -25,4 +30,44 @@ public class AuntTest {
 		assertFalse(sue260.consistentWithValues(ImmutableMap.of("goldfish", 5)));
 		// assertFalse(sue260.consistentWith(Aunt.mfcsamResult()));
 	}
+
+	@Test
+	public void index() {
+		AuntIndex index = new AuntIndex(ImmutableList.of( //
+				new Aunt("Sue 1: cats: 8, trees: 2"), //
+				new Aunt("Sue 2: cats: 7, goldfish: 4"), //
+				new Aunt("Sue 3: trees: 6, cars: 6, children: 4"), //
+				new Aunt("Sue 4: akitas: 1")));
+
+		// Sue 3 and Sue 4 might have any number of cats.
+		assertEquals(ImmutableList.of("Sue 2", "Sue 3", "Sue 4"), //
+				index.consistentWithValues(ImmutableMap.of("cats", 7)));
+		assertEquals(ImmutableList.of("Sue 1", "Sue 4"), index.consistentWith(ImmutableMap.of( //
+				"cats", Range.greaterThan(7), //
+				"trees", Range.closed(1, 5))));
+		assertEquals(ImmutableList.of("Sue 3", "Sue 4"), index.consistentWith(ImmutableMap.of( //
+				"cats", Range.closedOpen(8, 8), //
+				"akitas", Range.atMost(1))));
+		// Nobody remembers fish.
+		assertEquals(ImmutableList.of("Sue 1", "Sue 2", "Sue 3", "Sue 4"),
+				index.consistentWithValues(ImmutableMap.of("fish", 72)));
+	}
+
+	@Test
+	public void indexAgreesWithAunt() {
+		List<Aunt> aunts = ImmutableList.of( //
+				new Aunt("Sue 1: goldfish: 9, cars: 0, samoyeds: 9"), //
+				new Aunt("Sue 2: perfumes: 5, trees: 8, goldfish: 8"), //
+				new Aunt("Sue 3: pomeranians: 2, akitas: 1, trees: 5"), //
+				new Aunt("Sue 4: goldfish: 10, akitas: 2, perfumes: 9"), //
+				new Aunt("Sue 5: cars: 2, perfumes: 1, cats: 9"));
+
+		List<String> expected = aunts.stream() //
+				.filter(aunt -> aunt.consistentWith(Aunt.retroencabulatedMfcsamResult())) //
+				.map(Aunt::getName) //
+				.collect(toList());
+
+		assertEquals(ImmutableList.of("Sue 5"), expected);
+		assertEquals(expected, new AuntIndex(aunts).consistentWith(Aunt.retroencabulatedMfcsamRanges()));
+	}
 }
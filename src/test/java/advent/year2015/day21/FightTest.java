@@ -1,10 +1,15 @@
 package advent.year2015.day21;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
+
 public class FightTest {
 
 	@Test
@@ -30,4 +35,33 @@ public class FightTest {
 		assertSame(boss, fight.winner());
 	}
 
+	@Test
+	public void loadoutEngineMatchesExhaustiveSearch() {
+		LoadoutEngine engine = new LoadoutEngine();
+		List<Character> bosses = ImmutableList.of(Character.boss(), new Character(12, 2, 7), new Character(150, 6, 11));
+
+		for (Character boss : bosses) {
+			int cheapestWin = EquipmentLoadout.allAvailable().stream() //
+					.filter(loadout -> winsAgainst(loadout, boss)) //
+					.mapToInt(EquipmentLoadout::cost) //
+					.min() //
+					.orElse(LoadoutEngine.NONE);
+			int priciestLoss = EquipmentLoadout.allAvailable().stream() //
+					.filter(loadout -> !winsAgainst(loadout, boss)) //
+					.mapToInt(EquipmentLoadout::cost) //
+					.max() //
+					.orElse(LoadoutEngine.NONE);
+
+			assertEquals(cheapestWin, engine.cheapestWinningCost(boss));
+			assertEquals(priciestLoss, engine.mostExpensiveLosingCost(boss));
+		}
+
+		assertArrayEquals(new int[] { 91, 8 }, engine.cheapestWinningCosts(bosses.subList(0, 2)));
+	}
+
+	private static boolean winsAgainst(EquipmentLoadout loadout, Character boss) {
+		Character hero = loadout.asHero();
+		return new Fight(hero, boss).winner() == hero;
+	}
+
 }
@@ -1,6 +1,9 @@
 package advent.year2015.day23;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
@@ -23,4 +26,49 @@ public class ProgramTest {
 		assertEquals(2, output.getRegister("a").getValue());
 	}
 
+	@Test
+	public void collatzFromLargeStart() {
+		List<Instruction> instructions = ImmutableList.of( //
+				Instruction.fromString("jio a, +8"), //
+				Instruction.fromString("inc b"), //
+				Instruction.fromString("jie a, +4"), //
+				Instruction.fromString("tpl a"), //
+				Instruction.fromString("inc a"), //
+				Instruction.fromString("jmp +2"), //
+				Instruction.fromString("hlf a"), //
+				Instruction.fromString("jmp -7"));
+
+		AssemblyComputer computer = new AssemblyComputer();
+		computer.getRegister("a").setValue(989_345_275_647L);
+		Program.Trace trace = new Program(instructions).execute(computer, Long.MAX_VALUE);
+
+		assertTrue(trace.exited());
+		assertEquals(1, computer.getRegister("a").getValue());
+		assertEquals(1348, computer.getRegister("b").getValue());
+		assertEquals(1348, trace.getExecutionCount(1));
+	}
+
+	@Test
+	public void stepBudget() {
+		List<Instruction> instructions = ImmutableList.of( //
+				Instruction.fromString("inc a"), //
+				Instruction.fromString("jmp -1"));
+
+		AssemblyComputer computer = new AssemblyComputer();
+		Program.Trace trace = new Program(instructions).execute(computer, 1001);
+
+		assertFalse(trace.exited());
+		assertEquals(1001, trace.getSteps());
+		assertEquals(501, trace.getExecutionCount(0));
+		assertEquals(500, trace.getExecutionCount(1));
+		assertEquals(501, computer.getRegister("a").getValue());
+	}
+
+	@Test
+	public void unknownRegister() {
+		List<Instruction> instructions = ImmutableList.of(Instruction.fromString("inc c"));
+
+		assertThrows(IllegalArgumentException.class, () -> new Program(instructions));
+	}
+
 }
@@ -1,6 +1,8 @@
 package advent.year2015.day25;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -21,4 +23,25 @@ public class WeatherMachineCodesTest {
 		assertEquals(27995004, WeatherMachineCodes.code(6, 6));
 	}
 
+	@Test
+	public void matchesSequence() {
+		long index = WeatherMachineCodes.index(17, 29);
+
+		assertEquals(WeatherMachineCodes.codes().skip(index - 1).findFirst().get().longValue(),
+				WeatherMachineCodes.code(17, 29));
+	}
+
+	@Test
+	public void batch() {
+		assertArrayEquals(new long[] { 20151125, 9380097, 27995004 },
+				WeatherMachineCodes.codes(new long[] { 1, 4, 6 }, new long[] { 1, 4, 6 }));
+	}
+
+	@Test
+	public void largeCoordinates() {
+		long code = WeatherMachineCodes.code(1_000_000_000L, 1_000_000_000L);
+
+		assertTrue(code > 0 && code < 33554393L);
+	}
+
 }
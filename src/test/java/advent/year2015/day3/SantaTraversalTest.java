@@ -2,6 +2,11 @@ package advent.year2015.day3;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
 
 import advent.year2015.day3.SantaTraversal;
@@ -29,4 +34,17 @@ public class SantaTraversalTest {
 		assertEquals(2, traversal.visitedCount());
 	}
 
+	@Test
+	public void santaAndRoboSanta() throws IOException {
+		Path directions = Files.createTempFile("directions", ".txt");
+		try {
+			Files.write(directions, "^v^v^v^v^v\n".getBytes(StandardCharsets.UTF_8));
+
+			assertEquals(2, SantaTraversal.housesVisited(directions, 1));
+			assertEquals(11, SantaTraversal.housesVisited(directions, 2));
+		} finally {
+			Files.delete(directions);
+		}
+	}
+
 }
@@ -70,4 +70,10 @@ public class NiceStringsTest {
 		assertFalse(SecondRule.hasNonOverlappingPair("aaa"));
 	}
 
+	@Test
+	public void pairsWithNonLettersAreSkipped() {
+		assertFalse(SecondRule.hasNonOverlappingPair("A1 A1 A1"));
+		assertTrue(SecondRule.hasNonOverlappingPair("xy 12 xy"));
+	}
+
 }
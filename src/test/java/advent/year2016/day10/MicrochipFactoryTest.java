@@ -2,8 +2,12 @@ package advent.year2016.day10;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 public class MicrochipFactoryTest {
@@ -26,4 +30,40 @@ public class MicrochipFactoryTest {
 		assertEquals(2, factory.findNumberOfBotWhoHandled(5, 2));
 	}
 
+	@Test
+	public void comparisonListener() {
+		MicrochipFactory factory = new MicrochipFactory();
+		List<String> comparisons = new ArrayList<>();
+		factory.addComparisonListener((bot, low, high) -> comparisons.add(bot + ":" + low + "-" + high));
+
+		factory.addInstruction("value 5 goes to bot 2");
+		factory.addInstruction("bot 2 gives low to bot 1 and high to bot 0");
+		factory.addInstruction("value 3 goes to bot 1");
+		factory.addInstruction("bot 1 gives low to output 1 and high to bot 0");
+		factory.addInstruction("bot 0 gives low to output 2 and high to output 0");
+		factory.addInstruction("value 2 goes to bot 2");
+
+		assertEquals(ImmutableList.of("2:2-5", "1:2-3", "0:3-5"), comparisons);
+	}
+
+	@Test
+	public void longChainDoesNotOverflowStack() {
+		int botCount = 200_000;
+		MicrochipFactory factory = new MicrochipFactory();
+
+		for (int i = 1; i < botCount; i++) {
+			factory.addInstruction("value " + (i + 1) + " goes to bot " + i);
+		}
+		for (int i = 0; i < botCount - 1; i++) {
+			factory.addInstruction("bot " + i + " gives low to output " + i + " and high to bot " + (i + 1));
+		}
+		factory.addInstruction("bot " + (botCount - 1) + " gives low to output " + (botCount - 1) + " and high to output "
+				+ botCount);
+		factory.addInstruction("value 0 goes to bot 0");
+		factory.addInstruction("value 1 goes to bot 0");
+
+		assertEquals(12345, factory.findNumberOfBotWhoHandled(12346, 12345));
+		assertEquals(ImmutableSet.of(botCount), factory.getBin(botCount).getChips());
+	}
+
 }
@@ -1,9 +1,14 @@
 package advent.year2016.day15;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -19,7 +24,42 @@ public class DiscSculptureTest {
 
 		assertFalse(sculpture.capsulePasses(0));
 		assertTrue(sculpture.capsulePasses(5));
-		assertEquals(5, sculpture.firstSuccessfulDropTime());
+		assertEquals(Optional.of(BigInteger.valueOf(5)), sculpture.firstSuccessfulDropTime());
+		assertEquals(5, sculpture.firstSuccessfulDropTimeByBruteForce());
+	}
+
+	@Test
+	public void nonCoprimeDiscs() {
+		DiscSculpture sculpture = new DiscSculpture(Stream.of("Disc #1 has 4 positions; at time=0, it is at position 1.", //
+				"Disc #2 has 6 positions; at time=0, it is at position 2."));
+
+		assertEquals(Optional.of(BigInteger.valueOf(sculpture.firstSuccessfulDropTimeByBruteForce())),
+				sculpture.firstSuccessfulDropTime());
+	}
+
+	@Test
+	public void unsatisfiable() {
+		Stream<String> input = Stream.of("Disc #1 has 4 positions; at time=0, it is at position 0.", //
+				"Disc #2 has 6 positions; at time=0, it is at position 0.");
+
+		assertEquals(Optional.empty(), DiscSculpture.firstSuccessfulDropTime(input));
+	}
+
+	@Test
+	public void manyDiscs() {
+		List<BigInteger> primes = Stream.iterate(BigInteger.TWO, BigInteger::nextProbablePrime) //
+				.limit(300) //
+				.collect(toList());
+		// Set each disc so that it is open just as a capsule dropped at this time reaches it. The product of the
+		// position counts is past 2^2700, so this is the first such time.
+		BigInteger dropTime = BigInteger.TWO.pow(600).add(BigInteger.valueOf(12345));
+		List<String> input = IntStream.range(0, primes.size()) //
+				.mapToObj(i -> "Disc #" + (i + 1) + " has " + primes.get(i) + " positions; at time=0, it is at position "
+						+ dropTime.add(BigInteger.valueOf(i + 1)).negate().mod(primes.get(i)) + ".") //
+				.collect(toList());
+
+		assertEquals(Optional.of(dropTime), DiscSculpture.firstSuccessfulDropTime(input.stream()));
+		assertEquals(Optional.of(dropTime), new DiscSculpture(input.stream()).firstSuccessfulDropTime());
 	}
 
 }
@@ -51,4 +51,26 @@ public class SecureVaultTest {
 		assertEquals(Optional.of(830), //
 				new SecureVault("ulqzkmiv").longestPathToExitLength());
 	}
+
+	@Test
+	public void longestWithinBound() {
+		SecureVault vault = new SecureVault("ihgpwlah");
+		assertEquals(Optional.of(370), vault.longestPathToExitLength(370));
+		assertEquals(Optional.of(366), vault.longestPathToExitLength(369));
+		assertEquals(Optional.empty(), vault.longestPathToExitLength(5));
+	}
+
+	@Test
+	public void nonSquareVaultAgreesWithBreadthFirst() {
+		SecureVault vault = new SecureVault("kglvqrro", 5, 3);
+		assertEquals(Optional.of(90), vault.longestPathToExitLength());
+		assertEquals(Optional.of(90), vault.longestPathToExit().map(path -> path.toString().length()));
+	}
+
+	@Test
+	public void pathReachingExitAtForkDepthAgreesWithBreadthFirst() {
+		SecureVault vault = new SecureVault("pc14");
+		assertEquals(Optional.of(8), vault.longestPathToExitLength());
+		assertEquals(Optional.of(8), vault.longestPathToExit().map(path -> path.toString().length()));
+	}
 }
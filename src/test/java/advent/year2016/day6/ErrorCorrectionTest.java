@@ -4,10 +4,15 @@ import static advent.year2016.day6.ErrorCorrection.correctingErrorsByLeastCommon
 import static advent.year2016.day6.ErrorCorrection.correctingErrorsByMostCommon;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
+
 public class ErrorCorrectionTest {
 
 	@Test
@@ -56,4 +61,25 @@ public class ErrorCorrectionTest {
 		assertEquals("advent", input.collect(correctingErrorsByLeastCommon()));
 	}
 
+	@Test
+	public void parallelDifferentWidths() {
+		Stream<String> input = Stream.of("ab", "abc", "x", "ab").parallel();
+
+		assertEquals("abc", input.collect(correctingErrorsByMostCommon()));
+	}
+
+	@Test
+	public void fromFile() throws IOException {
+		Path samples = Files.createTempFile("samples", ".txt");
+		try {
+			Files.write(samples, ImmutableList.of("eedadn", "drvtee", "eandsr", "raavrd", "atevrs", "tsrnev", "sdttsa",
+					"rasrtv", "nssdts", "ntnada", "svetve", "tesnvt", "vntsnd", "vrdear", "dvrsen", "enarar"));
+
+			assertEquals("easter", ErrorCorrection.correctByMostCommon(samples));
+			assertEquals("advent", ErrorCorrection.correctByLeastCommon(samples));
+		} finally {
+			Files.delete(samples);
+		}
+	}
+
 }
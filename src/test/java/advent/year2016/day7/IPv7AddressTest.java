@@ -23,6 +23,7 @@ public class IPv7AddressTest {
 		assertTrue(IPv7Address.containsAbba("abba"));
 		assertTrue(IPv7Address.containsAbba("ioxxoj"));
 		assertTrue(IPv7Address.containsAbba("rightattheendwoow"));
+		assertTrue(IPv7Address.containsAbba("x[abba]"));
 
 		assertFalse(IPv7Address.containsAbba("zxcvbn"));
 		assertFalse(IPv7Address.containsAbba(""));
@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.base.Strings;
+
 public class PixelDisplayTest {
 
 	@Test
@@ -37,4 +39,19 @@ public class PixelDisplayTest {
 		assertEquals(6, display.litPixelCount());
 	}
 
+	@Test
+	public void rectAfterRowRotationSpanningWords() {
+		PixelDisplay display = new PixelDisplay(70, 2);
+		display.applyOperation("rect 65x1");
+		display.applyOperation("rotate row y=0 by 10");
+		display.applyOperation("rect 3x2");
+		display.applyOperation("rotate column x=12 by 1");
+
+		String expected = Strings.repeat("#", 5) + Strings.repeat(".", 5) + "##." + Strings.repeat("#", 57) + "\n" + //
+				"###" + Strings.repeat(".", 9) + "#" + Strings.repeat(".", 57);
+
+		assertEquals(expected, display.toString());
+		assertEquals(68, display.litPixelCount());
+	}
+
 }
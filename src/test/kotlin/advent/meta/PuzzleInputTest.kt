@@ -0,0 +1,47 @@
+package advent.meta
+
+import advent.year2015.day17.EggnogContainers
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.jupiter.api.Test
+import java.nio.ReadOnlyBufferException
+import java.nio.file.Files
+import java.nio.file.Paths
+
+class PuzzleInputTest {
+
+  @Test
+  fun `of -- loads each file once`() {
+    assertThat(PuzzleInput.of(2015, 17)).isSameAs(PuzzleInput.of(2015, 17))
+    assertThat(PuzzleInput.forClass(EggnogContainers::class.java)).isSameAs(PuzzleInput.of(2015, 17))
+  }
+
+  @Test
+  fun `views -- match the file`() {
+    val input = PuzzleInput.of(2015, 17)
+    val path = Paths.get("src/main/java/advent/year2015/day17/input.txt")
+
+    assertThat(input.text.toString()).isEqualTo(Files.readString(path))
+    assertThat(input.lines().map { it.toString() }.toList()).isEqualTo(Files.readAllLines(path))
+    assertThat(input.bytes().remaining()).isEqualTo(Files.size(path).toInt())
+  }
+
+  @Test
+  fun `bytes -- are read only`() {
+    assertThatThrownBy { PuzzleInput.of(2015, 17).bytes().put(0, 0) }
+      .isInstanceOf(ReadOnlyBufferException::class.java)
+  }
+
+  @Test
+  fun `forClass -- needs a day's package`() {
+    assertThatThrownBy { PuzzleInput.forClass(PuzzleInput::class.java) }
+      .isInstanceOf(IllegalArgumentException::class.java)
+  }
+
+  @Test
+  fun `readInput -- is the trimmed text`() {
+    val path = Paths.get("src/main/kotlin/advent/year2024/day5/input.txt")
+
+    assertThat(readInput(2024, 5)).isEqualTo(Files.readString(path).trim())
+  }
+}
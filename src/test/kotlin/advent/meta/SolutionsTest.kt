@@ -0,0 +1,26 @@
+package advent.meta
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.jupiter.api.Test
+import java.time.Duration
+
+class SolutionsTest {
+
+  @Test
+  fun `registry -- finds Java and Kotlin mains by year and day`() {
+    assertThat(Solutions.forDay(2015, 1).map { it.className })
+      .containsExactly("advent.year2015.day1.DeliveryInstructions")
+    assertThat(Solutions.forDay(2017, 1).map { it.className })
+      .containsExactly("advent.year2017.day1.DigitizedUserCaptchaKt")
+    assertThat(Solutions.forYear(2016).map { it.day }).contains(1, 11, 25)
+  }
+
+  @Test
+  fun `runner -- captures each solution's output separately`() {
+    val reports = SolutionRunner(workers = 2, timeout = Duration.ofMinutes(1))
+      .run(Solutions.forDay(2015, 1) + Solutions.forDay(2017, 1))
+
+    assertThat(reports.map { it.status }).containsOnly(SolutionStatus.SUCCEEDED)
+    assertThat(reports.map { it.output.size }).containsExactly(1, 2)
+  }
+}
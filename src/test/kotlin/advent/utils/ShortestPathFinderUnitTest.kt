@@ -136,4 +136,44 @@ class ShortestPathFinderUnitTest {
       assertThat(it.steps).hasSize(2)
     })
   }
-}
\ No newline at end of file
+
+  @Test
+  fun `find -- walk on grid from 0,0 to 5,5 -- returns every shortest path`() {
+    val paths = ShortestPathFinder().find(
+      start = Point(0, 0),
+      end = EndState(Point(5, 5)),
+      nextSteps = Steps { it.adjacentNeighbors }
+    )
+
+    // 10 choose 5 ways to order the 5 steps right and the 5 steps up.
+    assertThat(paths).hasSize(252)
+  }
+
+  @Test
+  fun `find -- with a heuristic -- finds a path of the same cost`() {
+    val end = Point(40, 0)
+
+    val paths = ShortestPathFinder().find(
+      start = Point(0, 0),
+      end = EndState(end),
+      nextSteps = Steps { point -> point.adjacentNeighbors.filter { it.x != 20 || it.y > 25 }.toSet() },
+      collapse = CollapseOnCurrentState(),
+      heuristic = { it.distanceFrom(end) }
+    )
+
+    assertThat(paths).hasSize(1)
+    assertThat(paths.first().totalCost).isEqualTo(40 + 2 * 26)
+  }
+
+  @Test
+  fun `find -- costs in the thousands -- finds cheapest path`() {
+    val paths = ShortestPathFinder().find(
+      start = 0,
+      end = EndState(100_000),
+      nextSteps = StepsWithCost { setOf(Step(it + 1, 1000), Step(it + 7, 6500)) },
+      collapse = CollapseOnCurrentState()
+    )
+
+    assertThat(paths.single().totalCost).isEqualTo(14_285 * 6500 + 5 * 1000)
+  }
+}
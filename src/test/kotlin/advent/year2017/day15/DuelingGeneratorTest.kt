@@ -40,6 +40,16 @@ class DuelingGeneratorTest {
         assertThat(matchCount).isEqualTo(1)
     }
 
+    @Test
+    fun `matchCount -- 40,000,000 pairs of reference generators -- 588 matches`() {
+        val generatorA = DuelingGenerator.a(65)
+        val generatorB = DuelingGenerator.b(8921)
+
+        val matchCount = generatorA.matchCount(generatorB, 40_000_000)
+
+        assertThat(matchCount).isEqualTo(588)
+    }
+
     @Test
     fun `sequence -- picky generator A -- has reference first 5 values`() {
         val generator = DuelingGenerator.pickyA(65)
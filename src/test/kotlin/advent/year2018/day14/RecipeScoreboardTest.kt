@@ -27,4 +27,17 @@ class RecipeScoreboardTest {
 
         assertThat(result).isEqualTo(expected)
     }
-}
\ No newline at end of file
+
+    @ParameterizedTest(name = "countLeftOfSequence -- sequence {0} -- appears after {1} recipes")
+    @CsvSource("37, 0",
+            "3710, 0",
+            "1010, 2",
+            "0101, 3",
+            "10101, 2")
+    fun `countLeftOfSequence -- sequences overlapping the start or themselves -- first appearance`(sequence: String,
+                                                                                                 expected: Int) {
+        val result = RecipeScoreboard().countLeftOfSequence(sequence)
+
+        assertThat(result).isEqualTo(expected)
+    }
+}
@@ -2,6 +2,8 @@ package advent.year2020.day15
 
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.CsvSource
 
 class ElvenMemoryGameTest {
 
@@ -22,4 +24,39 @@ class ElvenMemoryGameTest {
 
     assertThat(number).isEqualTo(436)
   }
-}
\ No newline at end of file
+
+  @ParameterizedTest(name = "nth -- starting numbers {0} -- 2020th is {1}")
+  @CsvSource(delimiter = '=', value = [
+    "1,3,2 = 1",
+    "2,1,3 = 10",
+    "1,2,3 = 27",
+    "2,3,1 = 78",
+    "3,2,1 = 438",
+    "3,1,2 = 1836"
+  ])
+  fun `nth -- reference starting numbers -- reference 2020th number`(startingNumbers: String, expected: Long) {
+    val game = ElvenMemoryGame(startingNumbers.split(",").map { it.toInt() })
+
+    val number = game.nth(2020)
+
+    assertThat(number).isEqualTo(expected)
+  }
+
+  @Test
+  fun `spokenAt -- several turns -- same as the sequence`() {
+    val game = ElvenMemoryGame(listOf(0, 3, 6))
+
+    val spoken = game.spokenAt(listOf(10L, 1L, 2020L, 4L))
+
+    assertThat(spoken).isEqualTo(mapOf(1L to 0L, 4L to 0L, 10L to 0L, 2020L to 436L))
+  }
+
+  @Test
+  fun `nth -- 30000000th -- reference value`() {
+    val game = ElvenMemoryGame(listOf(0, 3, 6))
+
+    val number = game.nth(30_000_000)
+
+    assertThat(number).isEqualTo(175594L)
+  }
+}
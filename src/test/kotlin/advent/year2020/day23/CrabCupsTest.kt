@@ -2,6 +2,8 @@ package advent.year2020.day23
 
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.jupiter.api.Test
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
 
 class CrabCupsTest {
 
@@ -35,4 +37,31 @@ class CrabCupsTest {
 
     assertThat(product).isEqualTo(149245887792L)
   }
-}
\ No newline at end of file
+
+  @Test
+  fun `snapshot and restore -- part way through -- same result as an uninterrupted run`() {
+    val uninterrupted = CrabCups.extended("389125467", totalCups = 1000)
+    uninterrupted.next(10_000)
+
+    val original = CrabCups.extended("389125467", totalCups = 1000)
+    original.next(4_000)
+    val saved = ByteArrayOutputStream()
+    original.snapshot().writeTo(saved)
+    original.next(1)
+
+    val restored = CrabCups.restore(CrabCups.Snapshot.readFrom(ByteArrayInputStream(saved.toByteArray())))
+    restored.next(6_000)
+
+    assertThat(restored.labels()).isEqualTo(uninterrupted.labels())
+  }
+
+  @Test
+  fun `1 move -- picking up 5 -- places all 5 after the destination`() {
+    val cups = CrabCups(listOf(3, 8, 9, 1, 2, 5, 4, 6, 7), pickUpCount = 5)
+
+    // Picks up 8, 9, 1, 2 and 5, so the destination skips down past 2, 1, 9 and 8 to 7.
+    cups.next()
+
+    assertThat(cups.labels()).isEqualTo("25346789")
+  }
+}